@@ -0,0 +1,32 @@
+#!/bin/bash
+# JMH benchmark'larını çalıştırır ve sonucu JSON olarak saklar
+#
+# Sonuç dosyası results/jmh-<git-sürümü>.json olur; iki sürümü
+# karşılaştırmak için aynı benchmark'ları iki commit'te çalıştırıp
+# dosyaları diff'leyin (ör. jq '.[] | {benchmark, params, primaryMetric: .primaryMetric.score}').
+#
+# Kullanım: ./run-benchmarks.sh [jmh_filtresi] [ek jmh argümanları...]
+#   ./run-benchmarks.sh                          # hepsi
+#   ./run-benchmarks.sh ResponseRendering        # sadece microbenchmark'lar
+#   ./run-benchmarks.sh ScenarioBenchmark -p scenario=1,4
+
+set -e
+cd "$(dirname "$0")"
+
+FILTER="${1:-.*}"
+shift || true
+
+VERSION=$(git describe --always --dirty 2>/dev/null || echo local)
+RESULT="results/jmh-$VERSION.json"
+mkdir -p results
+
+echo "📦 Demo uygulaması kuruluyor..."
+(cd ../chaos-resilience-demo && mvn -q -DskipTests install)
+
+echo "📦 Benchmark jar'ı derleniyor..."
+mvn -q -DskipTests package
+
+echo "⏱️ Benchmark'lar çalışıyor: $FILTER"
+java -jar target/benchmarks.jar "$FILTER" -rf json -rff "$RESULT" "$@"
+
+echo "✅ Sonuç: $RESULT"
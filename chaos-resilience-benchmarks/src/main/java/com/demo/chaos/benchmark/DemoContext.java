@@ -0,0 +1,42 @@
+package com.demo.chaos.benchmark;
+
+import com.demo.chaos.ChaosResilienceDemoApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Benchmark'lar için demo uygulamasını HTTP sunucusu olmadan başlatır.
+ *
+ * Bean'ler, AOP proxy'leri (@CircuitBreaker/@TimeLimiter) ve Chaos
+ * Monkey watcher'ları uygulamadaki gibidir. Loglar WARN'a çekilir ki
+ * ölçüm log I/O'su değil, sipariş yolu olsun. Outbox kapalıdır:
+ * fallback benchmark'ları diske log yazmaz ve geride dosya kalmaz.
+ */
+final class DemoContext {
+
+    private DemoContext() {
+    }
+
+    /**
+     * @param overrides "--anahtar=değer" biçiminde ek ayarlar;
+     *                  application.yml'deki değerleri ezer
+     */
+    static ConfigurableApplicationContext start(String... overrides) {
+        List<String> args = new ArrayList<>(List.of(
+                "--logging.level.com.demo.chaos=WARN",
+                "--logging.level.io.github.resilience4j=WARN",
+                "--logging.level.de.codecentric.spring.boot.chaos.monkey=WARN",
+                "--spring.main.banner-mode=off",
+                "--demo.outbox.enabled=false"));
+        args.addAll(Arrays.asList(overrides));
+
+        return new SpringApplicationBuilder(ChaosResilienceDemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,100 @@
+package com.demo.chaos.benchmark;
+
+import com.demo.chaos.json.JsonBody;
+import com.demo.chaos.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * OrderService framework maliyeti.
+ *
+ * External servis 0ms sabit gecikmeyle çalışır (uyku yok) ve Chaos
+ * Monkey saldırıları kapalıdır; ölçülen süre AOP proxy'leri
+ * (@CircuitBreaker/@TimeLimiter), executor geçişi, Chaos Monkey
+ * watcher'ı ve cevap üretiminden ibarettir.
+ *
+ * watcher=false: Chaos Monkey service watcher'ı hiç proxy eklemez;
+ * iki değer arasındaki fark watcher'ın kendi maliyetidir.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class OrderServiceBenchmark {
+
+    private static final Throwable CIRCUIT_OPEN = new RuntimeException("benchmark: circuit open");
+    private static final Throwable TIMEOUT = new TimeoutException("benchmark: timeout");
+
+    @Param({"true", "false"})
+    public boolean watcher;
+
+    @Param({"false", "true"})
+    public boolean nonBlocking;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = DemoContext.start(
+                "--chaos.monkey.enabled=false",
+                "--chaos.monkey.watcher.service=" + watcher,
+                "--demo.external.latency.type=FIXED",
+                "--demo.external.latency.fixed-ms=0",
+                "--demo.external.non-blocking=" + nonBlocking);
+        orderService = context.getBean(OrderService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    /** Korumasız, çağıran thread'de */
+    @Benchmark
+    public JsonBody unprotected() {
+        return orderService.processOrder();
+    }
+
+    /** Korumasız, orderExecutor üzerinde */
+    @Benchmark
+    public JsonBody async() {
+        return orderService.processOrderAsync().join();
+    }
+
+    /** Circuit breaker + time limiter proxy'leri üzerinden */
+    @Benchmark
+    public JsonBody protectedOrder() {
+        return orderService.processOrderProtected().join();
+    }
+
+    /** Circuit breaker fallback cevabı (outbox kapalı, bkz. DemoContext) */
+    @Benchmark
+    public JsonBody circuitOpenFallback() {
+        return orderService.processOrderFallback(CIRCUIT_OPEN).join();
+    }
+
+    @Benchmark
+    public JsonBody timeoutFallback() {
+        return orderService.processOrderTimeoutFallback(TIMEOUT).join();
+    }
+}
@@ -0,0 +1,108 @@
+package com.demo.chaos.benchmark;
+
+import com.demo.chaos.external.FakeExternalService;
+import com.demo.chaos.json.CachedClock;
+import com.demo.chaos.json.JsonBody;
+import com.demo.chaos.json.JsonTemplate;
+import com.demo.chaos.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cevap üretme microbenchmark'ları.
+ *
+ * JsonTemplate + CachedClock ile eski String.format + DateTimeFormatter
+ * yolunu aynı sipariş ve fallback cevapları üzerinde karşılaştırır.
+ * İki yol da OrderService/FakeExternalService'teki şablonları kullanır;
+ * String.format yolu şablonun kaynak metnini doldurur, kopya tutulmaz.
+ * Her iki yol da byte'ları bir buffer'a yazana kadar ölçülür.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseRenderingBenchmark {
+
+    // Üretimdeki şablonlar; String.format yolu aynı metni (source()) doldurur
+    private static final JsonTemplate EXTERNAL_TEMPLATE = FakeExternalService.RESPONSE;
+    private static final JsonTemplate ORDER_TEMPLATE = OrderService.ORDER_RESPONSE;
+    private static final JsonTemplate TIMEOUT_TEMPLATE = OrderService.TIMEOUT_RESPONSE;
+
+    private ByteArrayOutputStream buffer;
+    private long callNumber;
+
+    @Setup
+    public void setUp() {
+        buffer = new ByteArrayOutputStream(1024);
+    }
+
+    @Benchmark
+    public int orderResponseFormat() {
+        long n = ++callNumber;
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        String external = String.format(EXTERNAL_TEMPLATE.source(), n, 200L, timestamp);
+        String order = String.format(ORDER_TEMPLATE.source(), n % 10000, true, 200L, external.trim(),
+                LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        return write(order.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public int orderResponseTemplate() throws IOException {
+        long n = ++callNumber;
+        JsonBody external = EXTERNAL_TEMPLATE.render(n, 200L, CachedClock.isoLocalDateTime());
+        JsonBody order = ORDER_TEMPLATE.render(n % 10000, true, 200L, external.trimmed(),
+                CachedClock.isoLocalDateTime());
+        return write(order);
+    }
+
+    @Benchmark
+    public int timeoutFallbackFormat() {
+        String body = String.format(TIMEOUT_TEMPLATE.source(), ++callNumber % 10000, true,
+                LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        return write(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public int timeoutFallbackTemplate() throws IOException {
+        return write(TIMEOUT_TEMPLATE.render(++callNumber % 10000, true, CachedClock.isoLocalDateTime()));
+    }
+
+    @Benchmark
+    public String timestampFormatter() {
+        return LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
+
+    @Benchmark
+    public byte[] timestampCachedClock() {
+        return CachedClock.isoLocalDateTime();
+    }
+
+    private int write(byte[] bytes) {
+        buffer.reset();
+        buffer.write(bytes, 0, bytes.length);
+        return buffer.size();
+    }
+
+    private int write(JsonBody body) throws IOException {
+        buffer.reset();
+        body.writeTo(buffer);
+        return buffer.size();
+    }
+}
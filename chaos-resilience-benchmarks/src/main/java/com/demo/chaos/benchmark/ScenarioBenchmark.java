@@ -0,0 +1,91 @@
+package com.demo.chaos.benchmark;
+
+import com.demo.chaos.controller.DemoController;
+import com.demo.chaos.service.OrderService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DemoController senaryoları 1-4 altında sipariş yolları.
+ *
+ * Her senaryo kendi fork'unda, DemoController.setScenario() ile
+ * kurulan gerçek ayarlarla (3-5sn Chaos Monkey gecikmesi dahil)
+ * çalışır. Senaryo 2-3'te korumasız çağrı saniyeler sürer; ölçüm
+ * iterasyonları bu yüzden uzundur.
+ *
+ * Hatalar benchmark'ı durdurmaz, "errors" sayacında raporlanır
+ * (AuxCounters sadece Throughput/AverageTime modlarında çalışır;
+ * percentile'lar için order.stage.latency metriğine bakın).
+ * JSON sonuç için: run-benchmarks.sh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 15)
+@Threads(32)
+@Fork(1)
+public class ScenarioBenchmark {
+
+    @Param({"1", "2", "3", "4"})
+    public int scenario;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = DemoContext.start();
+        orderService = context.getBean(OrderService.class);
+        context.getBean(DemoController.class).setScenario(scenario);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcome {
+        public long errors;
+    }
+
+    /** GET /api/order yolu */
+    @Benchmark
+    public Object unprotected(Outcome outcome) {
+        try {
+            return orderService.processOrder();
+        } catch (RuntimeException e) {
+            outcome.errors++;
+            return e;
+        }
+    }
+
+    /** GET /api/order/protected yolu (fallback'ler dahil) */
+    @Benchmark
+    public Object protectedOrder(Outcome outcome) {
+        try {
+            return orderService.processOrderProtected().join();
+        } catch (RuntimeException e) {
+            outcome.errors++;
+            return e;
+        }
+    }
+}
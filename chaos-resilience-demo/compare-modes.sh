@@ -0,0 +1,72 @@
+#!/bin/bash
+# Blocking vs async servlet modu karşılaştırması
+#
+# Aynı yükü önce bloklayan, sonra async endpoint'e gönderir ve
+# throughput, p50/p99 ve tepe Tomcat thread sayılarını raporlar
+# (toplam ve meşgul).
+#
+# Kullanım: ./compare-modes.sh [istek_sayısı] [eşzamanlılık] [senaryo]
+#   ./compare-modes.sh 400 100 4
+
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+REQUESTS="${1:-400}"
+CONCURRENCY="${2:-100}"
+SCENARIO="${3:-4}"
+
+metric() {
+    curl -s "$BASE_URL/actuator/metrics/$1" \
+        | sed -n 's/.*"statistic":"VALUE","value":\([0-9.]*\).*/\1/p'
+}
+
+run() {
+    local name="$1" path="$2"
+    local times peak_file sampler start end
+    times=$(mktemp)
+    peak_file=$(mktemp)
+
+    curl -s -X POST "$BASE_URL/api/demo/reset-circuit-breaker" > /dev/null
+
+    # Thread sayısını yük boyunca örnekle
+    (
+        peak_current=0; peak_busy=0
+        while :; do
+            current=$(metric tomcat.threads.current); busy=$(metric tomcat.threads.busy)
+            current=${current%.*}; busy=${busy%.*}
+            [ "${current:-0}" -gt "$peak_current" ] && peak_current=$current
+            [ "${busy:-0}" -gt "$peak_busy" ] && peak_busy=$busy
+            echo "$peak_current $peak_busy" > "$peak_file"
+            sleep 0.2
+        done
+    ) &
+    sampler=$!
+
+    start=$(date +%s.%N)
+    seq "$REQUESTS" | xargs -P "$CONCURRENCY" -I{} \
+        curl -s -o /dev/null -w "%{time_total}\n" "$BASE_URL$path" >> "$times"
+    end=$(date +%s.%N)
+
+    kill "$sampler" 2> /dev/null
+    wait "$sampler" 2> /dev/null
+
+    read -r peak_current peak_busy < "$peak_file"
+    sort -n "$times" | awk -v name="$name" -v start="$start" -v end="$end" \
+        -v current="$peak_current" -v busy="$peak_busy" '
+        { t[NR] = $1 }
+        END {
+            p50 = t[int(NR * 0.50) > 0 ? int(NR * 0.50) : 1]
+            p99 = t[int(NR * 0.99) > 0 ? int(NR * 0.99) : 1]
+            printf "%-28s %8.1f req/s  p50=%6.0fms  p99=%6.0fms  tomcat(threads)=%s  tomcat(busy)=%s\n",
+                name, NR / (end - start), p50 * 1000, p99 * 1000, current, busy
+        }'
+
+    rm -f "$times" "$peak_file"
+}
+
+curl -s "$BASE_URL/api/demo/scenario/$SCENARIO" > /dev/null
+echo "🎬 Senaryo $SCENARIO | $REQUESTS istek | eşzamanlılık $CONCURRENCY"
+echo
+
+run "protected (blocking .get())" "/api/order/protected/blocking"
+run "protected (async)"           "/api/order/protected"
+run "order (blocking)"            "/api/order"
+run "order (async)"               "/api/order/async"
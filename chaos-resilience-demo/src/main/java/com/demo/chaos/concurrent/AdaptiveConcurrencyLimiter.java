@@ -0,0 +1,149 @@
+package com.demo.chaos.concurrent;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gözlenen gecikmeye göre kendini ayarlayan eşzamanlılık limiti
+ * (gradient algoritması).
+ *
+ * İki üssel ortalama tutulur: kısa vadeli RTT (son durum) ve uzun
+ * vadeli RTT (normal durum). Kısa vadeli RTT uzun vadeliden
+ * (tolerans payıyla) büyüdükçe limit aynı oranda küçülür; gecikme
+ * normale dönünce sqrt(limit) kadar kuyruk payıyla tekrar büyür.
+ * Timeout/hata (drop) limiti backoffRatio ile çarpar.
+ *
+ * Limit doluyken tryAcquire() beklemeden boş döner; çağıran hemen
+ * fallback'e gider. Limitin yarısı bile kullanılmıyorsa limit
+ * büyütülmez (talep yokken şişmesin).
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    /** Uzun vadeli ortalamanın ağırlığı (~600 örneklik pencere) */
+    private static final double LONG_ALPHA = 2.0 / 601;
+    /** Kısa vadeli ortalamanın ağırlığı (~10 örneklik pencere) */
+    private static final double SHORT_ALPHA = 2.0 / 11;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    // Sadece update() içinde, kilit altında yazılır
+    private double limit;
+    private double shortRttNanos;
+    private double longRttNanos;
+    /** tryAcquire için kilitsiz okunan tam sayı limit */
+    private volatile int currentLimit;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double rttTolerance, double smoothing, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Geçersiz limit aralığı: " + minLimit + " <= " + initialLimit + " <= " + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.smoothing = smoothing;
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+        this.currentLimit = initialLimit;
+    }
+
+    /**
+     * Limit altındaysa yer ayırır. Dönen Permit tam olarak bir kez
+     * kapatılmalıdır (success/dropped/ignore).
+     */
+    public Optional<Permit> tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= currentLimit) {
+                rejected.increment();
+                return Optional.empty();
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return Optional.of(new Permit(System.nanoTime(), current + 1));
+    }
+
+    public int getLimit() {
+        return currentLimit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtStart, boolean dropped) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+            shortRttNanos = rttNanos;
+        } else {
+            shortRttNanos += SHORT_ALPHA * (rttNanos - shortRttNanos);
+            longRttNanos += LONG_ALPHA * (rttNanos - longRttNanos);
+            // Gecikme kalıcı olarak düştüyse uzun vadeli ortalama da hızla insin
+            if (longRttNanos > 2 * shortRttNanos) {
+                longRttNanos *= 0.95;
+            }
+        }
+
+        double newLimit;
+        if (dropped) {
+            newLimit = limit * backoffRatio;
+        } else if (inFlightAtStart < limit / 2) {
+            return;
+        } else {
+            double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, rttTolerance * longRttNanos / shortRttNanos));
+            newLimit = limit * gradient + Math.sqrt(limit);
+        }
+
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - smoothing) + newLimit * smoothing));
+        currentLimit = (int) limit;
+    }
+
+    /**
+     * Ayrılmış bir yer. Gecikme örneği kapanışta alınır.
+     */
+    public final class Permit {
+
+        private final long startNanos;
+        private final int inFlightAtStart;
+
+        private Permit(long startNanos, int inFlightAtStart) {
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /** Çağrı başarılı; gecikmesi limite yansır */
+        public void success() {
+            release(false, true);
+        }
+
+        /** Timeout/hata; limit geri çekilir */
+        public void dropped() {
+            release(true, true);
+        }
+
+        /** Çağrı iptal edildi vb.; örnek alınmaz */
+        public void ignore() {
+            release(false, false);
+        }
+
+        private void release(boolean dropped, boolean sample) {
+            inFlight.decrementAndGet();
+            if (sample) {
+                update(System.nanoTime() - startNanos, inFlightAtStart, dropped);
+            }
+        }
+    }
+}
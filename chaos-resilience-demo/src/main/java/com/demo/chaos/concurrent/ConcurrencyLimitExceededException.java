@@ -0,0 +1,13 @@
+package com.demo.chaos.concurrent;
+
+/**
+ * AdaptiveConcurrencyLimiter limiti dolu olduğu için reddedilen çağrı.
+ *
+ * Reddetme hızlı yol olmalı: stack trace toplanmaz.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    public ConcurrencyLimitExceededException(int limit) {
+        super("Eşzamanlılık limiti dolu (" + limit + ")", null, false, false);
+    }
+}
@@ -0,0 +1,199 @@
+package com.demo.chaos.concurrent;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Hedged request: ilk deneme gecikirse ikinci bir deneme başlatır,
+ * ilk başarılı sonuç kazanır, diğeri iptal edilir.
+ *
+ * Hedge gecikmesi sabittir ya da (adaptive) son başarılı denemelerin
+ * canlı quantile'ından (ör. p95) hesaplanır. Bütçe (TokenBudget): her
+ * çağrı budgetPercent/100 token biriktirir, her hedge 1 token harcar;
+ * böylece ek yük temel trafiğin yüzdesiyle sınırlı kalır.
+ *
+ * Hata hedge sebebi değildir: hedge ateşlenmeden önce ilk deneme
+ * başarısız olursa sonuç hemen başarısız olur (retry değil). Bir
+ * deneme kazanınca diğeri iptal edilir; sonuç dışarıdan bir hatayla
+ * (timeout) tamamlanırsa denemeler aynı hatayla durdurulur. Eşzamanlılık
+ * limiti böylece kaybedeni örneklemez, timeout'u ise düşüş sayar.
+ */
+public final class Hedger {
+
+    /** En fazla 10 hedge'lik birikim (ani patlama payı) */
+    private static final int MAX_BUDGET_TOKENS = 10;
+    private static final int SAMPLE_SIZE = 1_024;
+    /** Adaptive gecikme için gereken en az örnek */
+    private static final int MIN_SAMPLES = 100;
+    private static final long REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long fixedDelayNanos;
+    private final boolean adaptive;
+    private final double quantile;
+    private final long minDelayNanos;
+    private final TokenBudget budget;
+    private final ScheduledExecutorService timer;
+
+    private final AtomicLongArray samples = new AtomicLongArray(SAMPLE_SIZE);
+    private final AtomicLong sampleCount = new AtomicLong();
+    private final AtomicLong lastRefresh = new AtomicLong(System.nanoTime());
+    private volatile long quantileNanos;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder fired = new LongAdder();
+    private final LongAdder won = new LongAdder();
+    private final LongAdder budgetExhausted = new LongAdder();
+
+    /**
+     * @param fixedDelay    sabit gecikme; adaptive modda yeterli örnek yokken kullanılır
+     * @param adaptive      true ise gecikme canlı quantile'dan hesaplanır
+     * @param quantile      adaptive modda hedef quantile (0-1), ör. 0.95
+     * @param minDelay      adaptive gecikmenin alt sınırı
+     * @param budgetPercent temel trafiğe göre en fazla hedge oranı (%)
+     */
+    public Hedger(Duration fixedDelay, boolean adaptive, double quantile, Duration minDelay,
+                  double budgetPercent, ScheduledExecutorService timer) {
+        if (quantile <= 0 || quantile >= 1) {
+            throw new IllegalArgumentException("Geçersiz hedge ayarı: quantile=" + quantile + ", budget=" + budgetPercent);
+        }
+        this.fixedDelayNanos = fixedDelay.toNanos();
+        this.adaptive = adaptive;
+        this.quantile = quantile;
+        this.minDelayNanos = minDelay.toNanos();
+        this.budget = new TokenBudget(budgetPercent, MAX_BUDGET_TOKENS);
+        this.timer = timer;
+    }
+
+    public <T> CompletableFuture<T> call(Supplier<CompletableFuture<T>> attempt) {
+        calls.increment();
+        budget.deposit();
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<T>> hedge = new AtomicReference<>();
+
+        long primaryStart = System.nanoTime();
+        CompletableFuture<T> primary = start(attempt);
+        primary.whenComplete((value, error) -> {
+            if (error == null) {
+                if (result.complete(value)) {
+                    recordLatency(System.nanoTime() - primaryStart);
+                }
+            } else {
+                CompletableFuture<T> other = hedge.get();
+                if (other == null || other.isCompletedExceptionally()) {
+                    result.completeExceptionally(error);
+                }
+            }
+        });
+
+        ScheduledFuture<?> hedgeTimer = primary.isDone() ? null : timer.schedule(
+                () -> fireHedge(attempt, result, primary, hedge), currentDelayNanos(), TimeUnit.NANOSECONDS);
+
+        result.whenComplete((value, error) -> {
+            if (hedgeTimer != null) {
+                hedgeTimer.cancel(false);
+            }
+            InterruptibleFutures.abort(primary, error);
+            CompletableFuture<T> other = hedge.get();
+            if (other != null) {
+                InterruptibleFutures.abort(other, error);
+            }
+        });
+        return result;
+    }
+
+    private <T> void fireHedge(Supplier<CompletableFuture<T>> attempt, CompletableFuture<T> result,
+                               CompletableFuture<T> primary, AtomicReference<CompletableFuture<T>> hedge) {
+        if (result.isDone()) {
+            return;
+        }
+        if (!budget.tryWithdraw()) {
+            budgetExhausted.increment();
+            return;
+        }
+        fired.increment();
+
+        long hedgeStart = System.nanoTime();
+        CompletableFuture<T> second = start(attempt);
+        hedge.set(second);
+        second.whenComplete((value, error) -> {
+            if (error == null) {
+                if (result.complete(value)) {
+                    won.increment();
+                    recordLatency(System.nanoTime() - hedgeStart);
+                }
+            } else if (primary.isCompletedExceptionally()) {
+                result.completeExceptionally(error);
+            }
+        });
+        // Sonuç bu arada tamamlandıysa iptal dinleyicisi hedge'i görmemiş olabilir
+        if (result.isDone()) {
+            second.cancel(true);
+        }
+    }
+
+    private static <T> CompletableFuture<T> start(Supplier<CompletableFuture<T>> attempt) {
+        try {
+            return attempt.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Sadece başarılı denemeler örneklenir; kazanan hedge yüzünden
+     * iptal edilen yavaş denemeler örneğe girmez.
+     */
+    private void recordLatency(long nanos) {
+        long index = sampleCount.getAndIncrement();
+        samples.set((int) (index % SAMPLE_SIZE), nanos);
+    }
+
+    public long currentDelayNanos() {
+        if (!adaptive || sampleCount.get() < MIN_SAMPLES) {
+            return fixedDelayNanos;
+        }
+        long now = System.nanoTime();
+        long last = lastRefresh.get();
+        if (now - last > REFRESH_NANOS && lastRefresh.compareAndSet(last, now)) {
+            quantileNanos = computeQuantile();
+        }
+        long delay = quantileNanos;
+        return delay > 0 ? Math.max(minDelayNanos, delay) : fixedDelayNanos;
+    }
+
+    private long computeQuantile() {
+        int size = (int) Math.min(sampleCount.get(), SAMPLE_SIZE);
+        long[] copy = new long[size];
+        for (int i = 0; i < size; i++) {
+            copy[i] = samples.get(i);
+        }
+        Arrays.sort(copy);
+        return copy[Math.min(size - 1, (int) Math.ceil(quantile * size) - 1)];
+    }
+
+    public long callCount() {
+        return calls.sum();
+    }
+
+    public long firedCount() {
+        return fired.sum();
+    }
+
+    public long wonCount() {
+        return won.sum();
+    }
+
+    public long budgetExhaustedCount() {
+        return budgetExhausted.sum();
+    }
+}
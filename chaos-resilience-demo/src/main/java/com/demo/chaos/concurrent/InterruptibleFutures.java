@@ -0,0 +1,141 @@
+package com.demo.chaos.concurrent;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * İptal edildiğinde çalışan thread'i gerçekten interrupt eden
+ * CompletableFuture üreticisi.
+ *
+ * CompletableFuture.supplyAsync ile oluşturulan future iptal edilse bile
+ * arka plandaki görev çalışmaya devam eder. Resilience4j TimeLimiter da
+ * async modda future'ı yalnızca TimeoutException ile tamamlar; bu yüzden
+ * "cancelRunningFuture" tek başına işe yaramaz. Burada future dışarıdan
+ * (timeout, cancel) tamamlandığında altta yatan görev interrupt edilir.
+ *
+ * Görev interrupt'ın sebebini isCancelled() ile ayırt edebilir: sonuç
+ * başka yerden geldiyse (kazanan hedge, cancel) iptal, timeout veya
+ * hata ile tamamlandıysa değil.
+ */
+public final class InterruptibleFutures {
+
+    /** Bu thread'de çalışan görevin future'ı */
+    private static final ThreadLocal<InterruptibleFuture<?>> RUNNING = new ThreadLocal<>();
+
+    private InterruptibleFutures() {
+    }
+
+    /**
+     * Çalışan görev, sonucuna artık ihtiyaç kalmadığı için (kazanan
+     * hedge, cancel) interrupt edildiyse true. Timeout ve hata ile
+     * durdurulan görevlerde ve görev dışında false.
+     */
+    public static boolean isCancelled() {
+        InterruptibleFuture<?> running = RUNNING.get();
+        return running != null && running.cancelled;
+    }
+
+    /**
+     * Artık beklenmeyen bir denemeyi durdurur. Sebep bir hata ise
+     * (ör. TimeoutException) deneme aynı hatayla tamamlanır, böylece
+     * alt katman (limit, metrik) bunu timeout olarak görür; sebep yoksa
+     * veya iptalse deneme iptal edilir.
+     */
+    public static void abort(Future<?> attempt, Throwable cause) {
+        if (cause != null && !(cause instanceof CancellationException)
+                && attempt instanceof CompletableFuture<?> future) {
+            future.completeExceptionally(cause);
+        } else {
+            attempt.cancel(true);
+        }
+    }
+
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier, ExecutorService executor) {
+        InterruptibleFuture<T> future = new InterruptibleFuture<>();
+        try {
+            future.task = executor.submit(() -> {
+                RUNNING.set(future);
+                try {
+                    future.settle(supplier.get(), null);
+                } catch (Throwable t) {
+                    future.settle(null, t);
+                } finally {
+                    RUNNING.remove();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.settle(null, e);
+            return future;
+        }
+
+        // submit dönmeden önce timeout/cancel gelmiş olabilir
+        if (future.isDone() && !future.settled) {
+            future.task.cancel(true);
+        }
+        return future;
+    }
+
+    /**
+     * Dışarıdan tamamlanma (timeout, cancel) anında görevi interrupt eder.
+     *
+     * whenComplete yerine override kullanılır: CompletableFuture bağımlı
+     * stage'leri LIFO sırasıyla çalıştırır ve Resilience4j fallback zinciri
+     * bizden önce çalışıp interrupt'ı saniyelerce geciktirebilir.
+     */
+    private static final class InterruptibleFuture<T> extends CompletableFuture<T> {
+
+        private volatile Future<?> task;
+        private volatile boolean settled;
+        /** Dışarıdan tamamlanma başladı; interrupt edilen görevin sonucu yok sayılır */
+        private volatile boolean aborting;
+        /** Dışarıdan tamamlanma iptal (veya başka bir sonuç); timeout/hata değil */
+        private volatile boolean cancelled;
+
+        void settle(T result, Throwable error) {
+            if (aborting) {
+                // Interrupt'a uyanan görevin CancellationException'ı timeout'un
+                // önüne geçmesin; bağımlı stage'ler de interrupt edilmiş
+                // thread'de çalışmasın
+                return;
+            }
+            settled = true;
+            if (error == null) {
+                super.complete(result);
+            } else {
+                super.completeExceptionally(error);
+            }
+        }
+
+        @Override
+        public boolean complete(T value) {
+            interruptTask(true);
+            return super.complete(value);
+        }
+
+        @Override
+        public boolean completeExceptionally(Throwable ex) {
+            interruptTask(ex instanceof CancellationException);
+            return super.completeExceptionally(ex);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            interruptTask(true);
+            return super.cancel(mayInterruptIfRunning);
+        }
+
+        private void interruptTask(boolean cancel) {
+            Future<?> running = task;
+            if (!settled && !isDone() && running != null) {
+                // interrupt'tan önce yazılır; görev uyandığında sebebi görür
+                cancelled = cancel;
+                aborting = true;
+                running.cancel(true);
+            }
+        }
+    }
+}
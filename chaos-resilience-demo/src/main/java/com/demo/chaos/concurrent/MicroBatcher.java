@@ -0,0 +1,123 @@
+package com.demo.chaos.concurrent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Tek tek gelen öğeleri micro-batch'lere toplayan yardımcı.
+ *
+ * Batch, maxBatchSize öğeye ulaşınca ya da ilk öğeden linger süresi
+ * geçince (hangisi önce olursa) handler'a gönderilir. Handler batch ile
+ * aynı sırada sonuç listesi döndürmelidir; batch başarısız olursa
+ * içindeki tüm öğelerin future'ı aynı hata ile tamamlanır.
+ *
+ * Handler batch'i kapatan thread'de (dolduran submit() ya da linger
+ * timer'ı) doğrudan çağrılır; ek bir executor hop'u ve kuyruk yuvası
+ * yoktur. Bu yüzden handler bloklamamalı, işi kendi executor'ına verip
+ * future döndürmelidir (bkz. OrderService.processOrderBatchProtected).
+ */
+public final class MicroBatcher<T, R> implements AutoCloseable {
+
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final Function<List<T>, CompletableFuture<List<R>>> handler;
+    private final ScheduledThreadPoolExecutor lingerTimer;
+
+    private final Object lock = new Object();
+    private List<Pending<T, R>> current;
+    private ScheduledFuture<?> lingerTask;
+
+    public MicroBatcher(int maxBatchSize, Duration linger,
+                        Function<List<T>, CompletableFuture<List<R>>> handler) {
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = linger.toNanos();
+        this.handler = handler;
+        this.current = new ArrayList<>(maxBatchSize);
+        this.lingerTimer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "batch-linger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.lingerTimer.setRemoveOnCancelPolicy(true);
+    }
+
+    public CompletableFuture<R> submit(T item) {
+        Pending<T, R> pending = new Pending<>(item, new CompletableFuture<>());
+        List<Pending<T, R>> full = null;
+
+        synchronized (lock) {
+            current.add(pending);
+            if (current.size() >= maxBatchSize) {
+                full = takeCurrent();
+            } else if (current.size() == 1) {
+                List<Pending<T, R>> batch = current;
+                lingerTask = lingerTimer.schedule(() -> flushLingering(batch), lingerNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        if (full != null) {
+            invoke(full);
+        }
+        return pending.result();
+    }
+
+    private void flushLingering(List<Pending<T, R>> batch) {
+        synchronized (lock) {
+            // Batch bu arada boyuttan dolayı gönderilmiş olabilir
+            if (current != batch) {
+                return;
+            }
+            takeCurrent();
+        }
+        invoke(batch);
+    }
+
+    private List<Pending<T, R>> takeCurrent() {
+        List<Pending<T, R>> batch = current;
+        current = new ArrayList<>(maxBatchSize);
+        if (lingerTask != null) {
+            lingerTask.cancel(false);
+            lingerTask = null;
+        }
+        return batch;
+    }
+
+    private void invoke(List<Pending<T, R>> batch) {
+        List<T> items = batch.stream().map(Pending::item).toList();
+        CompletableFuture<List<R>> results;
+        try {
+            results = handler.apply(items);
+        } catch (Throwable t) {
+            results = CompletableFuture.failedFuture(t);
+        }
+
+        results.whenComplete((values, error) -> {
+            Throwable failure = error;
+            if (failure == null && values.size() != batch.size()) {
+                failure = new IllegalStateException(
+                        "Batch sonuç sayısı uyuşmuyor: " + values.size() + " != " + batch.size());
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                if (failure != null) {
+                    batch.get(i).result().completeExceptionally(failure);
+                } else {
+                    batch.get(i).result().complete(values.get(i));
+                }
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        lingerTimer.shutdownNow();
+    }
+
+    private record Pending<T, R>(T item, CompletableFuture<R> result) {
+    }
+}
@@ -0,0 +1,223 @@
+package com.demo.chaos.concurrent;
+
+import com.demo.chaos.deadline.Deadline;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bütçeli retry: geçici hatada denemeyi tekrarlar, beklemeyi thread
+ * uyutmadan timer üzerinde yapar.
+ *
+ * Bekleme decorrelated jitter ile seçilir: min(maxDelay, rastgele(base,
+ * 3 × önceki bekleme)); eşzamanlı retry'lar aynı anda patlamaz. Bütçe
+ * (TokenBudget) tüm çağıranlar arasında paylaşılır: her başarılı çağrı
+ * budgetPercent/100 token ekler, her retry 1 token harcar. Kesintide
+ * başarı olmadığı için retry'lar kendiliğinden kesilir ve yükü
+ * katlamaz.
+ *
+ * Her deneme kendi süresiyle (attemptTimeout) sınırlanır: süre dolunca
+ * deneme TimeoutException ile durdurulur ve bu hata retry edilebilir.
+ * Çağrının tamamını saran TimeLimiter'dan kısa olmalıdır; aksi halde
+ * yavaş ilk deneme bütün süreyi yer ve retry'a sıra gelmez.
+ *
+ * Retry şu durumlarda yapılmaz, son hata olduğu gibi döner:
+ * - hata retryable değil veya deneme hakkı bitti
+ * - permitted false (ör. circuit breaker CLOSED değil); bekleme
+ *   sonunda tekrar kontrol edilir
+ * - bekleme isteğin kalan bütçesini (Deadline) aşıyor
+ * - token bütçesi boş
+ *
+ * Sonuç dışarıdan tamamlanırsa bekleyen retry iptal edilir, çalışan
+ * deneme aynı hatayla (timeout) durdurulur.
+ */
+public final class Retrier {
+
+    public enum Suppression { BUDGET, NOT_PERMITTED, DEADLINE }
+
+    /** En fazla 10 retry'lık birikim (ani patlama payı) */
+    private static final int MAX_BUDGET_TOKENS = 10;
+
+    private final int maxAttempts;
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+    /** 0 ise deneme süresi sınırsız */
+    private final long attemptTimeoutNanos;
+    private final TokenBudget budget;
+    private final ScheduledExecutorService timer;
+    private final BooleanSupplier permitted;
+    private final Predicate<Throwable> retryable;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder recovered = new LongAdder();
+    private final Map<Suppression, LongAdder> suppressed = new EnumMap<>(Suppression.class);
+
+    /**
+     * @param maxAttempts    ilk deneme dahil en fazla deneme
+     * @param attemptTimeout deneme başına süre; sıfır ise sınırsız
+     * @param budgetPercent  başarılı çağrılara göre en fazla retry oranı (%)
+     * @param permitted     her retry öncesi sorulur
+     * @param retryable     sebebi (CompletionException'dan arındırılmış) alır
+     */
+    public Retrier(int maxAttempts, Duration baseDelay, Duration maxDelay, Duration attemptTimeout,
+                   double budgetPercent, ScheduledExecutorService timer, BooleanSupplier permitted,
+                   Predicate<Throwable> retryable) {
+        if (maxAttempts < 1 || baseDelay.isNegative() || maxDelay.compareTo(baseDelay) < 0
+                || attemptTimeout.isNegative()) {
+            throw new IllegalArgumentException("Geçersiz retry ayarı: maxAttempts=" + maxAttempts
+                    + ", baseDelay=" + baseDelay + ", maxDelay=" + maxDelay + ", attemptTimeout=" + attemptTimeout);
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseDelayNanos = baseDelay.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.attemptTimeoutNanos = attemptTimeout.toNanos();
+        this.budget = new TokenBudget(budgetPercent, MAX_BUDGET_TOKENS);
+        this.timer = timer;
+        this.permitted = permitted;
+        this.retryable = retryable;
+        for (Suppression reason : Suppression.values()) {
+            suppressed.put(reason, new LongAdder());
+        }
+    }
+
+    public <T> CompletableFuture<T> call(Supplier<CompletableFuture<T>> attempt) {
+        calls.increment();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        // Retry'lar timer thread'inden başlar; deadline burada yakalanır
+        Deadline deadline = Deadline.current().orElse(null);
+        AtomicReference<Future<?>> pending = new AtomicReference<>();
+
+        run(new Call<>(attempt, result, deadline, pending), 1, baseDelayNanos);
+
+        result.whenComplete((value, error) -> {
+            Future<?> current = pending.get();
+            if (current != null) {
+                InterruptibleFutures.abort(current, error);
+            }
+        });
+        return result;
+    }
+
+    private <T> void run(Call<T> call, int number, long previousDelayNanos) {
+        if (call.result.isDone()) {
+            return;
+        }
+        CompletableFuture<T> future = start(call.attempt);
+        call.pending.set(future);
+        // Sonuç bu arada tamamlandıysa iptal dinleyicisi bu denemeyi görmemiş olabilir
+        if (call.result.isDone()) {
+            future.cancel(true);
+            return;
+        }
+        limitAttempt(future);
+
+        future.whenComplete((value, error) -> {
+            if (error == null) {
+                budget.deposit();
+                if (number > 1) {
+                    recovered.increment();
+                }
+                call.result.complete(value);
+                return;
+            }
+
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            if (number >= maxAttempts || !retryable.test(cause) || call.result.isDone()) {
+                call.result.completeExceptionally(cause);
+                return;
+            }
+
+            long delay = nextDelay(previousDelayNanos);
+            Suppression reason = !permitted.getAsBoolean() ? Suppression.NOT_PERMITTED
+                    : call.deadline != null && call.deadline.remainingNanos() <= delay ? Suppression.DEADLINE
+                    : !budget.tryWithdraw() ? Suppression.BUDGET
+                    : null;
+            if (reason != null) {
+                suppressed.get(reason).increment();
+                call.result.completeExceptionally(cause);
+                return;
+            }
+
+            retries.increment();
+            ScheduledFuture<?> scheduled = timer.schedule(() -> {
+                // Beklerken devre açılmış olabilir
+                if (!permitted.getAsBoolean()) {
+                    suppressed.get(Suppression.NOT_PERMITTED).increment();
+                    call.result.completeExceptionally(cause);
+                    return;
+                }
+                run(call, number + 1, delay);
+            }, delay, TimeUnit.NANOSECONDS);
+            call.pending.set(scheduled);
+            if (call.result.isDone()) {
+                scheduled.cancel(false);
+            }
+        });
+    }
+
+    /** Süresi dolan deneme TimeoutException ile durur (thread'i interrupt edilir) */
+    private void limitAttempt(CompletableFuture<?> future) {
+        if (attemptTimeoutNanos <= 0 || future.isDone()) {
+            return;
+        }
+        ScheduledFuture<?> expiry = timer.schedule(
+                () -> InterruptibleFutures.abort(future, new TimeoutException(
+                        "Deneme " + TimeUnit.NANOSECONDS.toMillis(attemptTimeoutNanos) + "ms içinde dönmedi")),
+                attemptTimeoutNanos, TimeUnit.NANOSECONDS);
+        future.whenComplete((value, error) -> expiry.cancel(false));
+    }
+
+    private long nextDelay(long previousDelayNanos) {
+        long upper = Math.max(baseDelayNanos + 1, previousDelayNanos * 3);
+        return Math.min(maxDelayNanos, ThreadLocalRandom.current().nextLong(baseDelayNanos, upper));
+    }
+
+    private static <T> CompletableFuture<T> start(Supplier<CompletableFuture<T>> attempt) {
+        try {
+            return attempt.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public long callCount() {
+        return calls.sum();
+    }
+
+    public long retryCount() {
+        return retries.sum();
+    }
+
+    /** En az bir retry sonrası başarılı olan çağrılar */
+    public long recoveredCount() {
+        return recovered.sum();
+    }
+
+    public long suppressedCount(Suppression reason) {
+        return suppressed.get(reason).sum();
+    }
+
+    public double budgetTokens() {
+        return budget.available();
+    }
+
+    private record Call<T>(Supplier<CompletableFuture<T>> attempt, CompletableFuture<T> result,
+                           Deadline deadline, AtomicReference<Future<?>> pending) {
+    }
+}
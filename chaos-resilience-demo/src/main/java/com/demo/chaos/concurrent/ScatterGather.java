@@ -0,0 +1,103 @@
+package com.demo.chaos.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Paralel scatter-gather: tüm dallar aynı anda başlatılır.
+ *
+ * Sonuç, zorunlu (required) dalların hepsi başarılı olunca tamamlanır;
+ * o anda bitmemiş opsiyonel dallar NOT_READY olarak raporlanır ve
+ * iptal edilir. Böylece toplam süre dalların toplamı değil, en yavaş
+ * zorunlu dal kadardır. Zorunlu bir dal başarısız olursa diğerleri
+ * beklenmez (fail-fast). Zorunlu dal yoksa tüm dallar beklenir.
+ *
+ * Sonuç her zaman normal tamamlanır; başarısızlık kararı çağırana
+ * kalır (bkz. Outcome). Sonuç dışarıdan iptal edilirse tüm dallar
+ * iptal edilir.
+ */
+public final class ScatterGather {
+
+    private ScatterGather() {
+    }
+
+    public record Branch<T>(String name, boolean required, Supplier<CompletableFuture<T>> call) {
+    }
+
+    public enum Status { SUCCESS, FAILED, NOT_READY }
+
+    /**
+     * @param error FAILED ise CompletionException'dan arındırılmış sebep, aksi halde null
+     */
+    public record Outcome<T>(String name, boolean required, Status status, T value, Throwable error) {
+    }
+
+    public static <T> CompletableFuture<List<Outcome<T>>> gather(List<Branch<T>> branches) {
+        CompletableFuture<List<Outcome<T>>> result = new CompletableFuture<>();
+        if (branches.isEmpty()) {
+            result.complete(List.of());
+            return result;
+        }
+
+        // Önce hepsi başlatılır: senkron tamamlanan bir dal, diğerleri
+        // listede yokken snapshot almasın
+        List<CompletableFuture<T>> futures = new ArrayList<>(branches.size());
+        for (Branch<T> branch : branches) {
+            futures.add(start(branch.call()));
+        }
+
+        long required = branches.stream().filter(Branch::required).count();
+        if (required == 0) {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                    .whenComplete((ignored, error) -> result.complete(snapshot(branches, futures)));
+        } else {
+            AtomicInteger pending = new AtomicInteger((int) required);
+            for (int i = 0; i < branches.size(); i++) {
+                if (!branches.get(i).required()) {
+                    continue;
+                }
+                futures.get(i).whenComplete((value, error) -> {
+                    if (error != null || pending.decrementAndGet() == 0) {
+                        result.complete(snapshot(branches, futures));
+                    }
+                });
+            }
+        }
+
+        // Geç kalan opsiyonel dallar (veya dış iptal) için
+        result.whenComplete((outcomes, error) -> futures.forEach(future -> future.cancel(true)));
+        return result;
+    }
+
+    private static <T> CompletableFuture<T> start(Supplier<CompletableFuture<T>> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static <T> List<Outcome<T>> snapshot(List<Branch<T>> branches, List<CompletableFuture<T>> futures) {
+        List<Outcome<T>> outcomes = new ArrayList<>(branches.size());
+        for (int i = 0; i < branches.size(); i++) {
+            Branch<T> branch = branches.get(i);
+            CompletableFuture<T> future = futures.get(i);
+            if (!future.isDone()) {
+                outcomes.add(new Outcome<>(branch.name(), branch.required(), Status.NOT_READY, null, null));
+            } else if (future.isCompletedExceptionally()) {
+                Throwable error = future.handle((value, e) -> e).getNow(null);
+                if (error instanceof CompletionException && error.getCause() != null) {
+                    error = error.getCause();
+                }
+                outcomes.add(new Outcome<>(branch.name(), branch.required(), Status.FAILED, null, error));
+            } else {
+                outcomes.add(new Outcome<>(branch.name(), branch.required(), Status.SUCCESS, future.getNow(null), null));
+            }
+        }
+        return outcomes;
+    }
+}
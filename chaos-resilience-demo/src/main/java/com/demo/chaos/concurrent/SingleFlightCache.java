@@ -0,0 +1,169 @@
+package com.demo.chaos.concurrent;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight, TTL'li ve stale-while-revalidate destekli küçük cache.
+ *
+ * - Aynı key için eşzamanlı yüklemeler tek bir in-flight future'ı paylaşır.
+ * - ttl içindeki kayıt taze kabul edilir (hit).
+ * - ttl + staleWindow içindeki kayıt hemen döner, arka planda yenilenir (stale).
+ * - Kayıt sayısı maxSize'ı aşarsa en eski yüklenen kayıt atılır.
+ *
+ * Yükleme her zaman loadExecutor üzerinde, hiçbir çağıranın sahip
+ * olmadığı bir thread'de çalışır. Çağıranlara (lider dahil) paylaşılan
+ * future'ın kopyası verilir; bir çağıranın timeout/cancel'ı ya da
+ * thread'inin interrupt edilmesi diğer bekleyenleri ve yüklemenin
+ * kendisini etkilemez.
+ */
+public final class SingleFlightCache<K, V> {
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final long ttlNanos;
+    private final long staleNanos;
+    private final int maxSize;
+    private final Executor loadExecutor;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+
+    public SingleFlightCache(Duration ttl, Duration staleWindow, int maxSize, Executor loadExecutor) {
+        this.ttlNanos = ttl.toNanos();
+        this.staleNanos = staleWindow.toNanos();
+        this.maxSize = maxSize;
+        this.loadExecutor = loadExecutor;
+    }
+
+    /**
+     * Key için değeri döndürür; gerekirse loader ile yükler.
+     *
+     * Miss durumunda çağıran yüklemenin kopyasını bekler; stale
+     * yenileme çağıranı bekletmez. İkisinde de loader loadExecutor
+     * üzerinde çalışır.
+     */
+    public CompletableFuture<V> get(K key, Supplier<CompletableFuture<V>> loader) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            long age = System.nanoTime() - entry.loadedAt();
+            if (age < ttlNanos) {
+                hits.increment();
+                return CompletableFuture.completedFuture(entry.value());
+            }
+            if (age < ttlNanos + staleNanos) {
+                stale.increment();
+                refreshInBackground(key, loader);
+                return CompletableFuture.completedFuture(entry.value());
+            }
+            entries.remove(key, entry);
+        }
+        return load(key, loader);
+    }
+
+    /**
+     * Süresi tamamen dolmamış (taze veya stale) son değer; yükleme yapmaz.
+     */
+    public Optional<V> peek(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null || System.nanoTime() - entry.loadedAt() >= ttlNanos + staleNanos) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.value());
+    }
+
+    private CompletableFuture<V> load(K key, Supplier<CompletableFuture<V>> loader) {
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            coalesced.increment();
+            return existing.copy();
+        }
+        misses.increment();
+        submitLoad(key, loader, promise);
+        return promise.copy();
+    }
+
+    private void refreshInBackground(K key, Supplier<CompletableFuture<V>> loader) {
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, promise) != null) {
+            return; // zaten yükleniyor
+        }
+        submitLoad(key, loader, promise);
+    }
+
+    private void submitLoad(K key, Supplier<CompletableFuture<V>> loader, CompletableFuture<V> promise) {
+        try {
+            loadExecutor.execute(() -> startLoad(key, loader, promise));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, promise);
+            promise.completeExceptionally(e);
+        }
+    }
+
+    private void startLoad(K key, Supplier<CompletableFuture<V>> loader, CompletableFuture<V> promise) {
+        CompletableFuture<V> source;
+        try {
+            source = loader.get();
+        } catch (Throwable t) {
+            source = CompletableFuture.failedFuture(t);
+        }
+
+        source.whenComplete((value, error) -> {
+            // Önce cache'e yaz, sonra in-flight'tan çıkar: yeni gelen
+            // çağıran ya bekleyen yüklemeyi ya da taze kaydı görür
+            if (error == null) {
+                put(key, value);
+            }
+            inFlight.remove(key, promise);
+            if (error == null) {
+                promise.complete(value);
+            } else {
+                promise.completeExceptionally(error);
+            }
+        });
+    }
+
+    private void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.nanoTime()));
+        while (entries.size() > maxSize) {
+            entries.entrySet().stream()
+                    .min(Comparator.comparingLong(e -> e.getValue().loadedAt()))
+                    .ifPresent(oldest -> entries.remove(oldest.getKey(), oldest.getValue()));
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    public long staleCount() {
+        return stale.sum();
+    }
+
+    private record Entry<V>(V value, long loadedAt) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.demo.chaos.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ek çağrılar (hedge, retry) için paylaşılan token bütçesi.
+ *
+ * Her deposit() percent/100 token ekler, her ek çağrı 1 token harcar;
+ * böylece ek yük temel trafiğin yüzdesiyle sınırlı kalır. Kesinti
+ * sırasında deposit azaldığı için ek çağrılar da kendiliğinden kesilir.
+ * Kesirli token'lar için sayaç milli-token tutar. Başlangıçta doludur.
+ */
+public final class TokenBudget {
+
+    private static final long MILLI_TOKENS_PER_TOKEN = 1_000;
+
+    private final long milliTokensPerDeposit;
+    private final long maxMilliTokens;
+    private final AtomicLong milliTokens;
+
+    /**
+     * @param percent   deposit başına token (%)
+     * @param maxTokens en fazla birikim (ani patlama payı)
+     */
+    public TokenBudget(double percent, int maxTokens) {
+        if (percent < 0 || maxTokens < 1) {
+            throw new IllegalArgumentException("Geçersiz bütçe: percent=" + percent + ", maxTokens=" + maxTokens);
+        }
+        this.milliTokensPerDeposit = Math.round(percent * MILLI_TOKENS_PER_TOKEN / 100);
+        this.maxMilliTokens = maxTokens * MILLI_TOKENS_PER_TOKEN;
+        this.milliTokens = new AtomicLong(maxMilliTokens);
+    }
+
+    public void deposit() {
+        long current;
+        do {
+            current = milliTokens.get();
+            if (current >= maxMilliTokens) {
+                return;
+            }
+        } while (!milliTokens.compareAndSet(current, Math.min(maxMilliTokens, current + milliTokensPerDeposit)));
+    }
+
+    public boolean tryWithdraw() {
+        long current;
+        do {
+            current = milliTokens.get();
+            if (current < MILLI_TOKENS_PER_TOKEN) {
+                return false;
+            }
+        } while (!milliTokens.compareAndSet(current, current - MILLI_TOKENS_PER_TOKEN));
+        return true;
+    }
+
+    public double available() {
+        return (double) milliTokens.get() / MILLI_TOKENS_PER_TOKEN;
+    }
+}
@@ -0,0 +1,42 @@
+package com.demo.chaos.config;
+
+import com.demo.chaos.concurrent.MicroBatcher;
+import com.demo.chaos.json.JsonBody;
+import com.demo.chaos.service.OrderService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Batch siparişleri micro-batch'lere toplayan batcher.
+ *
+ * Handler, OrderService proxy'si üzerinden çağrılır; böylece
+ * circuit breaker ve timeout her micro-batch'e ayrı ayrı uygulanır.
+ * Handler işi orderExecutor'a kendisi verir; batcher onu inline çağırır,
+ * batch başına tek executor hop'u olur. Executor reddi batch fallback'ine
+ * düşer (siparişler outbox'a yazılır, DEGRADED döner).
+ */
+@Configuration
+@EnableConfigurationProperties(BatchProperties.class)
+public class BatchConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchConfig.class);
+
+    public static final String ORDER_BATCHER = "orderBatcher";
+
+    @Bean(name = ORDER_BATCHER, destroyMethod = "close")
+    public MicroBatcher<String, JsonBody> orderBatcher(
+            BatchProperties properties,
+            OrderService orderService) {
+        log.info("📦 Order batcher hazır: maxSize={}, linger={}ms",
+                properties.getMaxSize(), properties.getLingerMs());
+        return new MicroBatcher<>(
+                properties.getMaxSize(),
+                Duration.ofMillis(properties.getLingerMs()),
+                orderService::processOrderBatchProtected);
+    }
+}
@@ -0,0 +1,43 @@
+package com.demo.chaos.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Batch sipariş endpoint'i ayarları.
+ *
+ * application.yml → demo.batch.*
+ */
+@ConfigurationProperties(prefix = "demo.batch")
+public class BatchProperties {
+
+    /** Bir micro-batch'teki en fazla sipariş */
+    private int maxSize = 50;
+    /** İlk siparişten sonra batch'in dolmasını bekleme süresi */
+    private long lingerMs = 20;
+    /** Bir istek için cevabı yazılmamış en fazla sipariş (bellek sınırı) */
+    private int maxInFlight = 1_000;
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public long getLingerMs() {
+        return lingerMs;
+    }
+
+    public void setLingerMs(long lingerMs) {
+        this.lingerMs = lingerMs;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+}
@@ -0,0 +1,53 @@
+package com.demo.chaos.config;
+
+import de.codecentric.spring.boot.chaos.monkey.component.ChaosMonkeyRequestScope;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
+import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeyCondition;
+import de.codecentric.spring.boot.chaos.monkey.configuration.WatcherProperties;
+import de.codecentric.spring.boot.chaos.monkey.watcher.advice.ChaosMonkeyBeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.Modifier;
+
+/**
+ * Chaos Monkey bean watcher'ının Spring AOT ile çalışabilen hali.
+ *
+ * ChaosMonkeyBeanPostProcessor çalışırken sadece chaos.monkey.watcher.beans
+ * listesindeki bean'leri proxy'ler; fakat build anındaki tip tahmini
+ * (determineBeanType) her bean sınıfı için CGLIB proxy'si üretmeye çalışır
+ * ve ilk final sınıfta (MicroBatcher, Spring Boot'un BasePackages'ı)
+ * -Pfast-startup build'i düşer. Final sınıf zaten proxy'lenemez; tahmin
+ * sınıfın kendisi olur. Chaos Monkey bu bean'i @ConditionalOnMissingBean
+ * ile tanımladığı için onun yerine geçer, çalışma davranışı aynıdır.
+ */
+@Configuration
+@Conditional(ChaosMonkeyCondition.class)
+public class ChaosMonkeyAotConfig {
+
+    @Bean
+    public static ChaosMonkeyBeanPostProcessor chaosMonkeyBeanPostProcessor(
+            WatcherProperties watcherProperties,
+            ChaosMonkeyRequestScope requestScope,
+            MetricEventPublisher metricEventPublisher) {
+        return new AotSafeBeanPostProcessor(watcherProperties, requestScope, metricEventPublisher);
+    }
+
+    static class AotSafeBeanPostProcessor extends ChaosMonkeyBeanPostProcessor {
+
+        AotSafeBeanPostProcessor(WatcherProperties watcherProperties,
+                                 ChaosMonkeyRequestScope requestScope,
+                                 MetricEventPublisher metricEventPublisher) {
+            super(watcherProperties, requestScope, metricEventPublisher);
+        }
+
+        @Override
+        public Class<?> determineBeanType(Class<?> beanClass, String beanName) {
+            if (Modifier.isFinal(beanClass.getModifiers())) {
+                return beanClass;
+            }
+            return super.determineBeanType(beanClass, beanName);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.demo.chaos.config;
+
+import com.demo.chaos.deadline.ArrivalTimeValve;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * İstek deadline'ı.
+ *
+ * Tomcat'e isteğin geliş anını kaydeden valve eklenir; deadline
+ * interceptor'ı WebConfig'de kaydedilir.
+ */
+@Configuration
+@EnableConfigurationProperties(DeadlineProperties.class)
+public class DeadlineConfig {
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> arrivalTimeValveCustomizer() {
+        return factory -> factory.addContextValves(new ArrivalTimeValve());
+    }
+}
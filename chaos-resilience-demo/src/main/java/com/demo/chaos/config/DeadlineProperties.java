@@ -0,0 +1,34 @@
+package com.demo.chaos.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * İstek deadline'ı ayarları.
+ *
+ * application.yml → demo.deadline.*
+ */
+@ConfigurationProperties(prefix = "demo.deadline")
+public class DeadlineProperties {
+
+    /** false ise deadline belirlenmez; tüm katmanlar kendi timeout'unu kullanır */
+    private boolean enabled = true;
+
+    /** Header yoksa geliş anından itibaren bütçe */
+    private long defaultTimeoutMs = 10_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getDefaultTimeoutMs() {
+        return defaultTimeoutMs;
+    }
+
+    public void setDefaultTimeoutMs(long defaultTimeoutMs) {
+        this.defaultTimeoutMs = defaultTimeoutMs;
+    }
+}
@@ -0,0 +1,67 @@
+package com.demo.chaos.config;
+
+import com.demo.chaos.external.downstream.Downstream;
+import com.demo.chaos.external.downstream.DownstreamChaos;
+import com.demo.chaos.external.downstream.Downstreams;
+import com.demo.chaos.external.downstream.FakeDownstream;
+import com.demo.chaos.external.latency.LatencyModel;
+import com.demo.chaos.external.latency.LatencyModels;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Orkestre yolun downstream'leri.
+ *
+ * Her downstream için registry'de kendi adıyla bir circuit breaker
+ * (ortak "downstream" ayarından) ve kendi timeout'uyla bir time
+ * limiter oluşturulur; actuator/metrics çıktılarında ayrı görünürler.
+ * Gecikmeler external servisle aynı timer üzerinde simüle edilir.
+ */
+@Configuration
+@EnableConfigurationProperties(DownstreamProperties.class)
+public class DownstreamConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(DownstreamConfig.class);
+
+    /** application.yml → resilience4j.circuitbreaker.configs.downstream */
+    public static final String CIRCUIT_BREAKER_CONFIG = "downstream";
+
+    @Bean
+    public Downstreams downstreams(
+            DownstreamProperties properties,
+            DownstreamChaos chaos,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            TimeLimiterRegistry timeLimiterRegistry,
+            @Qualifier(ExternalServiceConfig.LATENCY_TIMER) ScheduledExecutorService latencyTimer) {
+        List<Downstream> downstreams = new ArrayList<>();
+        properties.getServices().forEach((name, service) -> {
+            LatencyModel latencyModel = LatencyModels.from(service.getLatency());
+            CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(name, CIRCUIT_BREAKER_CONFIG);
+            TimeLimiter timeLimiter = timeLimiterRegistry.timeLimiter(name, TimeLimiterConfig.custom()
+                    .timeoutDuration(Duration.ofMillis(service.getTimeoutMs()))
+                    .cancelRunningFuture(true)
+                    .build());
+
+            log.info("🔗 Downstream {}: required={}, timeout={}ms, latency={}",
+                    name, service.isRequired(), service.getTimeoutMs(), latencyModel.describe());
+            downstreams.add(new Downstream(
+                    new FakeDownstream(name, latencyModel, latencyTimer, chaos),
+                    service.isRequired(), circuitBreaker, timeLimiter, latencyTimer));
+        });
+        return new Downstreams(downstreams);
+    }
+}
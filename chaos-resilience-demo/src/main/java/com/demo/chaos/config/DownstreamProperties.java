@@ -0,0 +1,56 @@
+package com.demo.chaos.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Orkestre sipariş yolunun sahte downstream'leri.
+ *
+ * application.yml → demo.downstream.*
+ */
+@ConfigurationProperties(prefix = "demo.downstream")
+public class DownstreamProperties {
+
+    /** İsim → ayar; sıra yanıttaki sıradır */
+    private Map<String, Service> services = new LinkedHashMap<>();
+
+    public Map<String, Service> getServices() {
+        return services;
+    }
+
+    public void setServices(Map<String, Service> services) {
+        this.services = services;
+    }
+
+    public static class Service {
+
+        /** false ise dal başarısız/geç olduğunda sipariş yine tamamlanır */
+        private boolean required = true;
+        /** Dal başına timeout (TimeLimiter) */
+        private long timeoutMs = 1_000;
+
+        private final ExternalServiceProperties.Latency latency = new ExternalServiceProperties.Latency();
+
+        public boolean isRequired() {
+            return required;
+        }
+
+        public void setRequired(boolean required) {
+            this.required = required;
+        }
+
+        public long getTimeoutMs() {
+            return timeoutMs;
+        }
+
+        public void setTimeoutMs(long timeoutMs) {
+            this.timeoutMs = timeoutMs;
+        }
+
+        public ExternalServiceProperties.Latency getLatency() {
+            return latency;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.demo.chaos.config;
+
+import com.demo.chaos.external.latency.LatencyModel;
+import com.demo.chaos.external.latency.LatencyModels;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sahte harici servisin gecikme modeli, timer'ı ve cache yükleyicisi.
+ *
+ * Non-blocking modda N eşzamanlı çağrı N thread değil, sadece
+ * timerThreads kadar thread kullanır.
+ */
+@Configuration
+@EnableConfigurationProperties(ExternalServiceProperties.class)
+public class ExternalServiceConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ExternalServiceConfig.class);
+
+    public static final String LATENCY_TIMER = "latencyTimer";
+    public static final String CACHE_LOADER = "cacheLoader";
+
+    @Bean
+    public LatencyModel latencyModel(ExternalServiceProperties properties) {
+        LatencyModel model = LatencyModels.from(properties.getLatency());
+        log.info("⏱️ External latency modeli: {} (seed={})",
+                model.describe(), properties.getLatency().getSeed());
+        return model;
+    }
+
+    @Bean(name = LATENCY_TIMER, destroyMethod = "shutdownNow")
+    public ScheduledExecutorService latencyTimer(ExternalServiceProperties properties) {
+        AtomicInteger counter = new AtomicInteger(0);
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(
+                properties.getTimerThreads(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "latency-timer-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // İptal edilen (timeout olmuş) çağrılar kuyrukta birikmesin
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    /**
+     * SingleFlightCache yüklemelerinin thread'leri. Hiçbir isteğe ait
+     * değildir: TimeLimiter interrupt'ı ve isteğin deadline'ı paylaşılan
+     * yüklemeye ulaşmaz. Single-flight sayesinde key başına en fazla bir
+     * yükleme sürer; havuz bu yüzden sınırsız (cached) olabilir.
+     */
+    @Bean(name = CACHE_LOADER, destroyMethod = "shutdownNow")
+    public ExecutorService cacheLoader() {
+        AtomicInteger counter = new AtomicInteger(0);
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "cache-loader-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,552 @@
+package com.demo.chaos.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Sahte harici servis ayarları.
+ *
+ * application.yml → demo.external.*
+ */
+@ConfigurationProperties(prefix = "demo.external")
+public class ExternalServiceProperties {
+
+    /**
+     * true ise korumalı yol scheduleExternalApiCall() kullanır;
+     * gecikme thread uyutmak yerine timer ile simüle edilir.
+     */
+    private boolean nonBlocking = false;
+
+    /** Timer thread sayısı (non-blocking gecikmeler için) */
+    private int timerThreads = 2;
+
+    private final Latency latency = new Latency();
+    private final Cache cache = new Cache();
+    private final Limiter limiter = new Limiter();
+    private final Hedge hedge = new Hedge();
+    private final Retry retry = new Retry();
+    private final Http http = new Http();
+
+    public boolean isNonBlocking() {
+        return nonBlocking;
+    }
+
+    public void setNonBlocking(boolean nonBlocking) {
+        this.nonBlocking = nonBlocking;
+    }
+
+    public int getTimerThreads() {
+        return timerThreads;
+    }
+
+    public void setTimerThreads(int timerThreads) {
+        this.timerThreads = timerThreads;
+    }
+
+    public Latency getLatency() {
+        return latency;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Limiter getLimiter() {
+        return limiter;
+    }
+
+    public Hedge getHedge() {
+        return hedge;
+    }
+
+    public Retry getRetry() {
+        return retry;
+    }
+
+    public Http getHttp() {
+        return http;
+    }
+
+    /**
+     * Korumalı yolda hedged request: ilk çağrı delay içinde cevap
+     * vermezse ikinci çağrı başlar, ilk cevap kazanır.
+     */
+    public static class Hedge {
+
+        public enum DelayMode { FIXED, ADAPTIVE }
+
+        private boolean enabled = false;
+        private DelayMode delayMode = DelayMode.ADAPTIVE;
+        /** FIXED gecikme; ADAPTIVE modda yeterli örnek yokken de kullanılır */
+        private long delayMs = 300;
+        /** ADAPTIVE: gecikme bu quantile'dan hesaplanır */
+        private double quantile = 0.95;
+        private long minDelayMs = 20;
+        /** Temel trafiğe göre en fazla ek çağrı yüzdesi */
+        private double budgetPercent = 10;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public DelayMode getDelayMode() {
+            return delayMode;
+        }
+
+        public void setDelayMode(DelayMode delayMode) {
+            this.delayMode = delayMode;
+        }
+
+        public long getDelayMs() {
+            return delayMs;
+        }
+
+        public void setDelayMs(long delayMs) {
+            this.delayMs = delayMs;
+        }
+
+        public double getQuantile() {
+            return quantile;
+        }
+
+        public void setQuantile(double quantile) {
+            this.quantile = quantile;
+        }
+
+        public long getMinDelayMs() {
+            return minDelayMs;
+        }
+
+        public void setMinDelayMs(long minDelayMs) {
+            this.minDelayMs = minDelayMs;
+        }
+
+        public double getBudgetPercent() {
+            return budgetPercent;
+        }
+
+        public void setBudgetPercent(double budgetPercent) {
+            this.budgetPercent = budgetPercent;
+        }
+    }
+
+    /**
+     * External çağrı için gerçek HTTP yolu: FakeExternalService ayrı
+     * porttaki stub sunucunun arkasına konur, korumalı yol ona
+     * bağlantı havuzlu (keep-alive) HTTP istemcisiyle gider. Kapalıyken
+     * çağrı süreç içi metod çağrısıdır.
+     */
+    public static class Http {
+
+        private boolean enabled = false;
+        private String host = "127.0.0.1";
+        private int port = 8081;
+        /** Stub sunucunun worker thread sayısı (gecikme thread uyutularak simüle edilir) */
+        private int serverThreads = 200;
+        /** Havuzdaki toplam bağlantı */
+        private int maxConnections = 100;
+        /** Tek host için bağlantı; doluyken istek havuzda bekler */
+        private int maxConnectionsPerRoute = 50;
+        /** Havuzdan bağlantı bekleme sınırı */
+        private long poolTimeoutMs = 1000;
+        private long connectTimeoutMs = 500;
+        private long responseTimeoutMs = 5000;
+        /** Boşta bu süreyi aşan keep-alive bağlantı kapatılır */
+        private long idleTimeoutMs = 10000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getHost() {
+            return host;
+        }
+
+        public void setHost(String host) {
+            this.host = host;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public void setPort(int port) {
+            this.port = port;
+        }
+
+        public int getServerThreads() {
+            return serverThreads;
+        }
+
+        public void setServerThreads(int serverThreads) {
+            this.serverThreads = serverThreads;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public int getMaxConnectionsPerRoute() {
+            return maxConnectionsPerRoute;
+        }
+
+        public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+            this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        }
+
+        public long getPoolTimeoutMs() {
+            return poolTimeoutMs;
+        }
+
+        public void setPoolTimeoutMs(long poolTimeoutMs) {
+            this.poolTimeoutMs = poolTimeoutMs;
+        }
+
+        public long getConnectTimeoutMs() {
+            return connectTimeoutMs;
+        }
+
+        public void setConnectTimeoutMs(long connectTimeoutMs) {
+            this.connectTimeoutMs = connectTimeoutMs;
+        }
+
+        public long getResponseTimeoutMs() {
+            return responseTimeoutMs;
+        }
+
+        public void setResponseTimeoutMs(long responseTimeoutMs) {
+            this.responseTimeoutMs = responseTimeoutMs;
+        }
+
+        public long getIdleTimeoutMs() {
+            return idleTimeoutMs;
+        }
+
+        public void setIdleTimeoutMs(long idleTimeoutMs) {
+            this.idleTimeoutMs = idleTimeoutMs;
+        }
+    }
+
+    /**
+     * Korumalı yolda bütçeli retry: geçici hatada bekleyip tekrar dener.
+     * Bekleme timer üzerinde (decorrelated jitter), bütçe tüm çağıranlar
+     * arasında paylaşılır; circuit breaker CLOSED değilken retry yapılmaz.
+     */
+    public static class Retry {
+
+        private boolean enabled = false;
+        /** İlk deneme dahil */
+        private int maxAttempts = 3;
+        private long baseDelayMs = 20;
+        private long maxDelayMs = 500;
+        /** Deneme başına süre (TimeLimiter'ın 2sn'sinden kısa); 0 → sınırsız */
+        private long attemptTimeoutMs = 500;
+        /** Başarılı çağrılara göre en fazla retry yüzdesi */
+        private double budgetPercent = 10;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public long getBaseDelayMs() {
+            return baseDelayMs;
+        }
+
+        public void setBaseDelayMs(long baseDelayMs) {
+            this.baseDelayMs = baseDelayMs;
+        }
+
+        public long getMaxDelayMs() {
+            return maxDelayMs;
+        }
+
+        public void setMaxDelayMs(long maxDelayMs) {
+            this.maxDelayMs = maxDelayMs;
+        }
+
+        public long getAttemptTimeoutMs() {
+            return attemptTimeoutMs;
+        }
+
+        public void setAttemptTimeoutMs(long attemptTimeoutMs) {
+            this.attemptTimeoutMs = attemptTimeoutMs;
+        }
+
+        public double getBudgetPercent() {
+            return budgetPercent;
+        }
+
+        public void setBudgetPercent(double budgetPercent) {
+            this.budgetPercent = budgetPercent;
+        }
+    }
+
+    /**
+     * External çağrılar için adaptif eşzamanlılık limiti (gradient).
+     * Limit doluyken çağrı beklemeden reddedilir ve fallback'e düşer.
+     */
+    public static class Limiter {
+
+        private boolean enabled = false;
+        private int initialLimit = 20;
+        private int minLimit = 2;
+        private int maxLimit = 200;
+        /** Kısa vadeli RTT, uzun vadelinin bu katına kadar limit küçülmez */
+        private double rttTolerance = 1.5;
+        /** Her örnekte yeni limitin ağırlığı (0-1) */
+        private double smoothing = 0.2;
+        /** Timeout/hata sonrası limit çarpanı */
+        private double backoffRatio = 0.9;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public double getRttTolerance() {
+            return rttTolerance;
+        }
+
+        public void setRttTolerance(double rttTolerance) {
+            this.rttTolerance = rttTolerance;
+        }
+
+        public double getSmoothing() {
+            return smoothing;
+        }
+
+        public void setSmoothing(double smoothing) {
+            this.smoothing = smoothing;
+        }
+
+        public double getBackoffRatio() {
+            return backoffRatio;
+        }
+
+        public void setBackoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+        }
+    }
+
+    /**
+     * External cevap cache'i (single-flight + stale-while-revalidate).
+     * Kapalıyken her sipariş kendi external çağrısını yapar.
+     */
+    public static class Cache {
+
+        private boolean enabled = false;
+        /** Bu süre içinde cevap taze kabul edilir */
+        private long ttlMs = 1_000;
+        /** TTL sonrası bu süre boyunca eski cevap döner, arka planda yenilenir */
+        private long staleMs = 30_000;
+        private int maxSize = 1_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getTtlMs() {
+            return ttlMs;
+        }
+
+        public void setTtlMs(long ttlMs) {
+            this.ttlMs = ttlMs;
+        }
+
+        public long getStaleMs() {
+            return staleMs;
+        }
+
+        public void setStaleMs(long staleMs) {
+            this.staleMs = staleMs;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+
+    /**
+     * Harici servisin "normal" gecikme dağılımı.
+     * Chaos Monkey gecikmesi bunun üzerine eklenir.
+     */
+    public static class Latency {
+
+        public enum Type { FIXED, UNIFORM, LOG_NORMAL, BIMODAL, PARETO }
+
+        private Type type = Type.FIXED;
+        /** null ise her çalıştırmada farklı seed */
+        private Long seed;
+
+        /** FIXED */
+        private long fixedMs = 200;
+        /** UNIFORM */
+        private long minMs = 100;
+        private long maxMs = 300;
+        /** LOG_NORMAL, BIMODAL */
+        private long medianMs = 200;
+        private double sigma = 0.5;
+        /** BIMODAL: yavaş moddaki medyan ve oranı */
+        private long slowMedianMs = 2000;
+        private double slowRatio = 0.05;
+        /** PARETO: scale = minimum gecikme, shape küçüldükçe kuyruk kalınlaşır */
+        private long scaleMs = 150;
+        private double shape = 2.0;
+        /** Tüm dağılımlar için üst sınır */
+        private long capMs = 30_000;
+
+        public Type getType() {
+            return type;
+        }
+
+        public void setType(Type type) {
+            this.type = type;
+        }
+
+        public Long getSeed() {
+            return seed;
+        }
+
+        public void setSeed(Long seed) {
+            this.seed = seed;
+        }
+
+        public long getFixedMs() {
+            return fixedMs;
+        }
+
+        public void setFixedMs(long fixedMs) {
+            this.fixedMs = fixedMs;
+        }
+
+        public long getMinMs() {
+            return minMs;
+        }
+
+        public void setMinMs(long minMs) {
+            this.minMs = minMs;
+        }
+
+        public long getMaxMs() {
+            return maxMs;
+        }
+
+        public void setMaxMs(long maxMs) {
+            this.maxMs = maxMs;
+        }
+
+        public long getMedianMs() {
+            return medianMs;
+        }
+
+        public void setMedianMs(long medianMs) {
+            this.medianMs = medianMs;
+        }
+
+        public double getSigma() {
+            return sigma;
+        }
+
+        public void setSigma(double sigma) {
+            this.sigma = sigma;
+        }
+
+        public long getSlowMedianMs() {
+            return slowMedianMs;
+        }
+
+        public void setSlowMedianMs(long slowMedianMs) {
+            this.slowMedianMs = slowMedianMs;
+        }
+
+        public double getSlowRatio() {
+            return slowRatio;
+        }
+
+        public void setSlowRatio(double slowRatio) {
+            this.slowRatio = slowRatio;
+        }
+
+        public long getScaleMs() {
+            return scaleMs;
+        }
+
+        public void setScaleMs(long scaleMs) {
+            this.scaleMs = scaleMs;
+        }
+
+        public double getShape() {
+            return shape;
+        }
+
+        public void setShape(double shape) {
+            this.shape = shape;
+        }
+
+        public long getCapMs() {
+            return capMs;
+        }
+
+        public void setCapMs(long capMs) {
+            this.capMs = capMs;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.demo.chaos.config;
+
+import com.demo.chaos.external.FakeExternalService;
+import com.demo.chaos.external.http.HttpExternalClient;
+import com.demo.chaos.external.http.StubExternalServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+/**
+ * External çağrının gerçek HTTP yolu (demo.external.http.enabled=true).
+ *
+ * FakeExternalService ayrı porttaki stub sunucunun arkasına konur;
+ * CachingExternalService çağrıyı süreç içi yerine havuzlu HTTP
+ * istemcisiyle yapar. Kapalıyken bu bean'ler hiç oluşmaz.
+ * port: 0 verilirse boş bir port seçilir.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "demo.external.http", name = "enabled", havingValue = "true")
+public class HttpTransportConfig {
+
+    @Bean(destroyMethod = "close")
+    public StubExternalServer stubExternalServer(ExternalServiceProperties properties,
+                                                 FakeExternalService externalService) throws IOException {
+        ExternalServiceProperties.Http http = properties.getHttp();
+        return StubExternalServer.start(http.getHost(), http.getPort(), http.getServerThreads(), externalService);
+    }
+
+    @Bean(destroyMethod = "close")
+    public HttpExternalClient httpExternalClient(ExternalServiceProperties properties,
+                                                 StubExternalServer stubExternalServer,
+                                                 MeterRegistry meterRegistry) {
+        return new HttpExternalClient(properties.getHttp(), stubExternalServer.getPort(), meterRegistry);
+    }
+}
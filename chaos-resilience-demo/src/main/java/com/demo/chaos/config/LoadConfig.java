@@ -0,0 +1,29 @@
+package com.demo.chaos.config;
+
+import com.demo.chaos.load.LoadGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Gömülü open-loop yük üreteci.
+ *
+ * İstekler uygulamanın kendi portuna gerçek HTTP olarak gider;
+ * böylece Tomcat thread'leri ve kuyruğu da ölçüme dahildir.
+ */
+@Configuration
+@EnableConfigurationProperties(LoadProperties.class)
+public class LoadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadConfig.class);
+
+    @Bean(destroyMethod = "close")
+    public LoadGenerator loadGenerator(LoadProperties properties, Environment environment) {
+        log.info("🚀 Yük üreteci hazır: clientThreads={}, maxInFlight={}, maxRps={}",
+                properties.getClientThreads(), properties.getMaxInFlight(), properties.getMaxRps());
+        return new LoadGenerator(properties, environment);
+    }
+}
@@ -0,0 +1,62 @@
+package com.demo.chaos.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Gömülü yük üreteci ayarları.
+ *
+ * application.yml → demo.load.*
+ */
+@ConfigurationProperties(prefix = "demo.load")
+public class LoadProperties {
+
+    /** HttpClient'ın cevap işleme thread sayısı (istekler non-blocking) */
+    private int clientThreads = 2;
+    /** Cevabı beklenen en fazla istek; aşılırsa istek atılmaz, "dropped" sayılır */
+    private int maxInFlight = 5_000;
+    /** Tek isteğin en uzun süresi; aşılırsa hata sayılır */
+    private long requestTimeoutMs = 30_000;
+    /** Plan sınırları (demo makinesini korumak için) */
+    private double maxRps = 2_000;
+    private long maxDurationSec = 600;
+
+    public int getClientThreads() {
+        return clientThreads;
+    }
+
+    public void setClientThreads(int clientThreads) {
+        this.clientThreads = clientThreads;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public long getRequestTimeoutMs() {
+        return requestTimeoutMs;
+    }
+
+    public void setRequestTimeoutMs(long requestTimeoutMs) {
+        this.requestTimeoutMs = requestTimeoutMs;
+    }
+
+    public double getMaxRps() {
+        return maxRps;
+    }
+
+    public void setMaxRps(double maxRps) {
+        this.maxRps = maxRps;
+    }
+
+    public long getMaxDurationSec() {
+        return maxDurationSec;
+    }
+
+    public void setMaxDurationSec(long maxDurationSec) {
+        this.maxDurationSec = maxDurationSec;
+    }
+}
@@ -0,0 +1,96 @@
+package com.demo.chaos.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Korumalı sipariş yolu için isimlendirilmiş ve metriklenmiş executor.
+ *
+ * ForkJoinPool.commonPool() yerine kullanılır; böylece bloklayan external
+ * çağrılar ortak havuzu aç bırakmaz. Metrikler actuator altında
+ * "executor.*" (name=orderExecutor) olarak yayınlanır.
+ */
+@Configuration
+@EnableConfigurationProperties(OrderExecutorProperties.class)
+public class OrderExecutorConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderExecutorConfig.class);
+
+    public static final String ORDER_EXECUTOR = "orderExecutor";
+
+    @Bean(name = ORDER_EXECUTOR, destroyMethod = "shutdownNow")
+    public ExecutorService orderExecutor(OrderExecutorProperties properties, MeterRegistry meterRegistry) {
+        OrderExecutorProperties.Mode mode = properties.getMode();
+        ExecutorService executor = switch (mode) {
+            case PLATFORM -> new ThreadPoolExecutor(
+                    properties.getPoolSize(), properties.getPoolSize(),
+                    0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(),
+                    platformThreadFactory(properties.getThreadNamePrefix()));
+            case BOUNDED -> new ThreadPoolExecutor(
+                    properties.getPoolSize(), properties.getPoolSize(),
+                    0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                    platformThreadFactory(properties.getThreadNamePrefix()),
+                    new ThreadPoolExecutor.AbortPolicy());
+            case VIRTUAL -> virtualOrPlatform(properties);
+        };
+
+        log.info("🧵 Order executor hazır: mode={}, poolSize={}, queueCapacity={}",
+                mode, properties.getPoolSize(), properties.getQueueCapacity());
+
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, ORDER_EXECUTOR,
+                Tags.of("mode", mode.name().toLowerCase(Locale.ROOT)));
+    }
+
+    private static ThreadFactory platformThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger(0);
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * JDK 21+ üzerinde virtual thread executor oluşturur.
+     * Proje JDK 17 ile derlendiği için API reflection ile çağrılır;
+     * bulunamazsa PLATFORM moduna düşülür.
+     */
+    private static ExecutorService virtualOrPlatform(OrderExecutorProperties properties) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class)
+                    .invoke(builder, properties.getThreadNamePrefix(), 1L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class
+                    .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            log.warn("⚠️ Virtual thread desteklenmiyor (JDK {}), PLATFORM moduna geçiliyor",
+                    Runtime.version().feature());
+            return new ThreadPoolExecutor(
+                    properties.getPoolSize(), properties.getPoolSize(),
+                    0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(),
+                    platformThreadFactory(properties.getThreadNamePrefix()));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.demo.chaos.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Korumalı sipariş yolunun çalıştığı executor ayarları.
+ *
+ * application.yml → demo.executor.*
+ */
+@ConfigurationProperties(prefix = "demo.executor")
+public class OrderExecutorProperties {
+
+    /**
+     * Executor çalışma modu.
+     */
+    public enum Mode {
+        /** Sabit boyutlu platform thread havuzu, sınırsız kuyruk */
+        PLATFORM,
+        /** Sabit boyutlu havuz + sınırlı kuyruk, dolunca hızlı red */
+        BOUNDED,
+        /** Her görev için virtual thread (JDK 21+), aksi halde PLATFORM */
+        VIRTUAL
+    }
+
+    private Mode mode = Mode.PLATFORM;
+    private int poolSize = 64;
+    private int queueCapacity = 256;
+    private String threadNamePrefix = "order-exec-";
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public String getThreadNamePrefix() {
+        return threadNamePrefix;
+    }
+
+    public void setThreadNamePrefix(String threadNamePrefix) {
+        this.threadNamePrefix = threadNamePrefix;
+    }
+}
@@ -0,0 +1,31 @@
+package com.demo.chaos.config;
+
+import com.demo.chaos.external.FakeExternalService;
+import com.demo.chaos.outbox.OrderOutbox;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+/**
+ * Degraded siparişler için kalıcı outbox.
+ *
+ * Metrikler actuator altında "outbox.*" olarak yayınlanır
+ * (append/flush süreleri, replay throughput'u, backlog).
+ */
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    @Bean(destroyMethod = "close")
+    public OrderOutbox orderOutbox(
+            OutboxProperties properties,
+            FakeExternalService externalService,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            MeterRegistry meterRegistry) throws IOException {
+        return new OrderOutbox(properties, externalService, circuitBreakerRegistry, meterRegistry);
+    }
+}
@@ -0,0 +1,74 @@
+package com.demo.chaos.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Degraded modda kabul edilen siparişlerin outbox ayarları.
+ *
+ * application.yml → demo.outbox.*
+ */
+@ConfigurationProperties(prefix = "demo.outbox")
+public class OutboxProperties {
+
+    private boolean enabled = true;
+    /** Varsayılan: geçici dizin (çalışma dizinine log bırakılmaz) */
+    private String directory = Path.of(System.getProperty("java.io.tmpdir"),
+            "chaos-resilience-demo", "outbox").toString();
+    /** Segment dosyası boyutu (byte) */
+    private int segmentSize = 1024 * 1024;
+    /** Group commit: bu aralıkla biriken yazmalar tek fsync ile diske zorlanır */
+    private long flushIntervalMs = 10;
+    /** Replay denemeleri arası bekleme */
+    private long replayIntervalMs = 1_000;
+    private int replayBatchSize = 50;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    public void setSegmentSize(int segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    public long getFlushIntervalMs() {
+        return flushIntervalMs;
+    }
+
+    public void setFlushIntervalMs(long flushIntervalMs) {
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    public long getReplayIntervalMs() {
+        return replayIntervalMs;
+    }
+
+    public void setReplayIntervalMs(long replayIntervalMs) {
+        this.replayIntervalMs = replayIntervalMs;
+    }
+
+    public int getReplayBatchSize() {
+        return replayBatchSize;
+    }
+
+    public void setReplayBatchSize(int replayBatchSize) {
+        this.replayBatchSize = replayBatchSize;
+    }
+}
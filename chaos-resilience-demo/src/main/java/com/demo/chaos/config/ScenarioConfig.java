@@ -0,0 +1,23 @@
+package com.demo.chaos.config;
+
+import com.demo.chaos.scenario.ChaosTimeline;
+import com.demo.chaos.scenario.ScenarioState;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Kaos timeline motoru.
+ *
+ * Senaryo snapshot'larını kendi scheduler thread'inde yayınlar;
+ * request thread'leri sadece geçerli snapshot'ı okur.
+ */
+@Configuration
+@EnableConfigurationProperties(ScenarioProperties.class)
+public class ScenarioConfig {
+
+    @Bean(destroyMethod = "close")
+    public ChaosTimeline chaosTimeline(ScenarioState scenarioState, ScenarioProperties properties) {
+        return new ChaosTimeline(scenarioState, properties.getTimelineMaxDurationSec());
+    }
+}
@@ -0,0 +1,23 @@
+package com.demo.chaos.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Senaryo ve kaos timeline ayarları.
+ *
+ * application.yml → demo.scenario.*
+ */
+@ConfigurationProperties(prefix = "demo.scenario")
+public class ScenarioProperties {
+
+    /** Bir timeline planının en uzun süresi */
+    private long timelineMaxDurationSec = 3_600;
+
+    public long getTimelineMaxDurationSec() {
+        return timelineMaxDurationSec;
+    }
+
+    public void setTimelineMaxDurationSec(long timelineMaxDurationSec) {
+        this.timelineMaxDurationSec = timelineMaxDurationSec;
+    }
+}
@@ -0,0 +1,50 @@
+package com.demo.chaos.config;
+
+import com.demo.chaos.deadline.DeadlineInterceptor;
+import com.demo.chaos.deadline.DeadlineMetrics;
+import com.demo.chaos.json.JsonBodyHttpMessageConverter;
+import com.demo.chaos.metrics.StageMetrics;
+import com.demo.chaos.metrics.StageMetricsInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Spring MVC ayarları.
+ *
+ * JsonBody dönen endpoint'ler için converter en başa eklenir.
+ * /api altındaki istekler aşama bazlı gecikme için ölçülür.
+ * Sipariş endpoint'lerine istek deadline'ı bağlanır.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final StageMetrics stageMetrics;
+    private final DeadlineProperties deadlineProperties;
+    private final DeadlineMetrics deadlineMetrics;
+
+    public WebConfig(StageMetrics stageMetrics, DeadlineProperties deadlineProperties,
+                     DeadlineMetrics deadlineMetrics) {
+        this.stageMetrics = stageMetrics;
+        this.deadlineProperties = deadlineProperties;
+        this.deadlineMetrics = deadlineMetrics;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new JsonBodyHttpMessageConverter(stageMetrics));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new StageMetricsInterceptor(stageMetrics))
+                .addPathPatterns("/api/**");
+        if (deadlineProperties.isEnabled()) {
+            registry.addInterceptor(new DeadlineInterceptor(deadlineProperties.getDefaultTimeoutMs(), deadlineMetrics))
+                    .addPathPatterns("/api/order/**");
+        }
+    }
+}
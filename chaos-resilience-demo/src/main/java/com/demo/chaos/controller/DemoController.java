@@ -1,7 +1,15 @@
 package com.demo.chaos.controller;
 
-import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
-import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import com.demo.chaos.external.downstream.Downstream;
+import com.demo.chaos.external.downstream.DownstreamChaos;
+import com.demo.chaos.external.downstream.DownstreamFault;
+import com.demo.chaos.external.downstream.Downstreams;
+import com.demo.chaos.metrics.TrafficStats;
+import com.demo.chaos.metrics.TrafficWindow;
+import com.demo.chaos.scenario.ChaosTimeline;
+import com.demo.chaos.scenario.ScenarioSnapshot;
+import com.demo.chaos.scenario.ScenarioState;
+import com.demo.chaos.scenario.TimelinePlan;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import org.slf4j.Logger;
@@ -10,10 +18,18 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
 /**
  * Demo Kontrol Controller
  * 
  * Sunum sırasında senaryolar arası geçiş için kullanılır.
+ * Senaryolar değişmez snapshot'lardır (ScenarioSnapshot) ve tek
+ * seferde yayınlanır; /timeline zamanlanmış kaos akışı oynatır.
+ * /downstream/{name}/chaos kaosu tek bir downstream'e hedefler.
+ * /status endpoint başına canlı RPS ve hata oranlarını da gösterir.
  */
 @RestController
 @RequestMapping("/api/demo")
@@ -21,19 +37,26 @@ public class DemoController {
 
     private static final Logger log = LoggerFactory.getLogger(DemoController.class);
 
-    private final ChaosMonkeySettings chaosMonkeySettings;
-    private final AssaultProperties assaultProperties;
+    private final ScenarioState scenarioState;
+    private final ChaosTimeline chaosTimeline;
     private final CircuitBreakerRegistry circuitBreakerRegistry;
-
-    private String currentScenario = "1 - Normal";
+    private final Downstreams downstreams;
+    private final DownstreamChaos downstreamChaos;
+    private final TrafficStats trafficStats;
 
     public DemoController(
-            ChaosMonkeySettings chaosMonkeySettings,
-            AssaultProperties assaultProperties,
-            CircuitBreakerRegistry circuitBreakerRegistry) {
-        this.chaosMonkeySettings = chaosMonkeySettings;
-        this.assaultProperties = assaultProperties;
+            ScenarioState scenarioState,
+            ChaosTimeline chaosTimeline,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            Downstreams downstreams,
+            DownstreamChaos downstreamChaos,
+            TrafficStats trafficStats) {
+        this.scenarioState = scenarioState;
+        this.chaosTimeline = chaosTimeline;
         this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.downstreams = downstreams;
+        this.downstreamChaos = downstreamChaos;
+        this.trafficStats = trafficStats;
     }
 
     /**
@@ -51,9 +74,6 @@ public class DemoController {
 
         switch (scenarioNumber) {
             case 1 -> {
-                // Normal durum - Chaos Monkey kapalı
-                chaosMonkeySettings.getChaosMonkeyProperties().setEnabled(false);
-                currentScenario = "1 - Normal Durum";
                 message = """
                         ╔══════════════════════════════════════════════════╗
                         ║  1️⃣ SENARYO: NORMAL DURUM                         ║
@@ -69,13 +89,6 @@ public class DemoController {
             }
 
             case 2 -> {
-                // Chaos Monkey aktif - Latency injection
-                chaosMonkeySettings.getChaosMonkeyProperties().setEnabled(true);
-                assaultProperties.setLatencyActive(true);
-                assaultProperties.setLatencyRangeStart(3000);
-                assaultProperties.setLatencyRangeEnd(5000);
-                assaultProperties.setExceptionsActive(false);
-                currentScenario = "2 - Chaos Monkey Aktif";
                 message = """
                         ╔══════════════════════════════════════════════════╗
                         ║  2️⃣ SENARYO: CHAOS MONKEY AKTİF                   ║
@@ -93,13 +106,6 @@ public class DemoController {
             }
 
             case 3 -> {
-                // Chaos Monkey + Exception
-                chaosMonkeySettings.getChaosMonkeyProperties().setEnabled(true);
-                assaultProperties.setLatencyActive(true);
-                assaultProperties.setLatencyRangeStart(3000);
-                assaultProperties.setLatencyRangeEnd(5000);
-                assaultProperties.setExceptionsActive(true);
-                currentScenario = "3 - Chaos + Exceptions";
                 message = """
                         ╔══════════════════════════════════════════════════╗
                         ║  3️⃣ SENARYO: CHAOS + EXCEPTIONS                   ║
@@ -117,23 +123,7 @@ public class DemoController {
             }
 
             case 4 -> {
-                // Chaos Monkey + Resilience4j
-                chaosMonkeySettings.getChaosMonkeyProperties().setEnabled(true);
-                assaultProperties.setLatencyActive(true);
-                assaultProperties.setLatencyRangeStart(3000);
-                assaultProperties.setLatencyRangeEnd(5000);
-                assaultProperties.setExceptionsActive(false);
-
-                // Circuit breaker'ı resetle
-                try {
-                    CircuitBreaker cb = circuitBreakerRegistry.circuitBreaker("externalService");
-                    cb.reset();
-                    log.info("🔄 Circuit Breaker reset edildi");
-                } catch (Exception e) {
-                    log.warn("Circuit breaker reset failed: {}", e.getMessage());
-                }
 
-                currentScenario = "4 - Yönetilen Kaos (Resilience4j)";
                 message = """
                         ╔══════════════════════════════════════════════════╗
                         ║  4️⃣ SENARYO: YÖNETİLEN KAOS                       ║
@@ -161,7 +151,13 @@ public class DemoController {
             }
         }
 
-        log.info("✅ Senaryo değiştirildi: {}", currentScenario);
+        // Elle geçiş, çalışan timeline'ı durdurur; yoksa bir sonraki tick ezer
+        if (chaosTimeline.stop()) {
+            log.info("⏹️ Çalışan kaos timeline'ı durduruldu");
+        }
+        // Tüm ayarlar tek snapshot olarak yayınlanır (senaryo 4: CB de resetlenir)
+        ScenarioSnapshot snapshot = scenarioState.switchTo(scenarioNumber);
+        log.info("✅ Senaryo değiştirildi: {}", snapshot.name());
         return ResponseEntity.ok(message);
     }
 
@@ -170,9 +166,8 @@ public class DemoController {
      */
     @GetMapping(value = "/status", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<String> getStatus() {
-        boolean chaosEnabled = chaosMonkeySettings.getChaosMonkeyProperties().isEnabled();
-        boolean latencyActive = assaultProperties.isLatencyActive();
-        boolean exceptionsActive = assaultProperties.isExceptionsActive();
+        // Tek okuma: durum raporu da tutarlı bir snapshot'tan üretilir
+        ScenarioSnapshot snapshot = scenarioState.current();
 
         CircuitBreaker cb = circuitBreakerRegistry.circuitBreaker("externalService");
         String cbState = cb.getState().name();
@@ -192,21 +187,162 @@ public class DemoController {
                     },
                     "endpoints": {
                         "unprotected": "/api/order",
-                        "protected": "/api/order/protected"
-                    }
+                        "protected": "/api/order/protected",
+                        "orchestrated": "/api/order/orchestrated"
+                    },
+                    "downstreams": [%s],
+                    "traffic": [%s],
+                    "timelineElapsedSec": %s
                 }
                 """,
-                currentScenario,
-                chaosEnabled,
-                latencyActive,
-                assaultProperties.getLatencyRangeStart(),
-                assaultProperties.getLatencyRangeEnd(),
-                exceptionsActive,
-                cbState);
+                snapshot.name(),
+                snapshot.chaosEnabled(),
+                snapshot.latencyActive(),
+                snapshot.latencyStartMs(),
+                snapshot.latencyEndMs(),
+                snapshot.exceptionsActive(),
+                cbState,
+                downstreams.all().stream().map(this::downstreamStatus).collect(Collectors.joining(", ")),
+                trafficStats.windows().stream().map(DemoController::trafficStatus).collect(Collectors.joining(", ")),
+                chaosTimeline.elapsedSec().map(t -> String.format(Locale.ROOT, "%.1f", t)).orElse("null"));
 
         return ResponseEntity.ok(status);
     }
 
+    private String downstreamStatus(Downstream downstream) {
+        DownstreamFault fault = downstreamChaos.faultOf(downstream.getName());
+        return String.format(Locale.ROOT,
+                "{\"name\": \"%s\", \"required\": %s, \"timeoutMs\": %d, \"circuitBreakerState\": \"%s\", "
+                        + "\"latency\": \"%s\", \"chaosLatencyMs\": %d, \"chaosErrorRate\": %.2f}",
+                downstream.getName(),
+                downstream.isRequired(),
+                downstream.getTimeoutMs(),
+                downstream.getCircuitBreaker().getState().name(),
+                downstream.getService().getLatencyModel().describe(),
+                fault.latencyMs(),
+                fault.errorRate());
+    }
+
+    /**
+     * Son tamamlanmış saniyeler: rps ortalama, oranlar çağrılara göre (0-1).
+     * errorRate gerçek cevap alamayanların toplamıdır.
+     */
+    private static String trafficStatus(TrafficWindow window) {
+        TrafficWindow.Snapshot recent = window.snapshot(TrafficStats.REPORT_SECONDS);
+        TrafficWindow.Snapshot lastSecond = window.snapshot(1);
+        return String.format(Locale.ROOT,
+                "{\"endpoint\": \"%s\", \"windowSec\": %d, \"rps\": %.1f, \"lastSecondRps\": %.0f, "
+                        + "\"calls\": %d, \"errorRate\": %.3f, \"fallbackRate\": %.3f, \"timeoutRate\": %.3f, "
+                        + "\"rejectedRate\": %.3f}",
+                window.getName(),
+                recent.seconds(),
+                recent.rps(),
+                lastSecond.rps(),
+                recent.calls(),
+                recent.errorRate(),
+                recent.rate(TrafficWindow.Outcome.FALLBACK),
+                recent.rate(TrafficWindow.Outcome.TIMEOUT),
+                recent.rate(TrafficWindow.Outcome.REJECTED));
+    }
+
+    /**
+     * Kaosu tek bir downstream'e hedefler; diğerleri etkilenmez
+     *
+     * @param latencyMs normal gecikmeye eklenen süre
+     * @param errorRate çağrıların hata ile dönen oranı (0-1)
+     */
+    @PostMapping(value = "/downstream/{name}/chaos", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> injectDownstreamChaos(
+            @PathVariable String name,
+            @RequestParam(defaultValue = "0") long latencyMs,
+            @RequestParam(defaultValue = "0") double errorRate) {
+        Optional<Downstream> downstream = downstreams.get(name);
+        if (downstream.isEmpty()) {
+            return unknownDownstream(name);
+        }
+
+        DownstreamFault fault;
+        try {
+            fault = new DownstreamFault(latencyMs, errorRate);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(String.format("""
+                    {
+                        "error": "%s"
+                    }
+                    """, e.getMessage()));
+        }
+
+        downstreamChaos.inject(name, fault);
+        log.info("🎯 Downstream kaosu: {} → +{}ms, hata oranı {}", name, latencyMs, errorRate);
+        return ResponseEntity.ok(downstreamStatus(downstream.get()));
+    }
+
+    /**
+     * Downstream'e hedeflenmiş kaosu kaldırır
+     */
+    @DeleteMapping(value = "/downstream/{name}/chaos", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> clearDownstreamChaos(@PathVariable String name) {
+        Optional<Downstream> downstream = downstreams.get(name);
+        if (downstream.isEmpty()) {
+            return unknownDownstream(name);
+        }
+
+        downstreamChaos.clear(name);
+        log.info("🎯 Downstream kaosu kaldırıldı: {}", name);
+        return ResponseEntity.ok(downstreamStatus(downstream.get()));
+    }
+
+    private ResponseEntity<String> unknownDownstream(String name) {
+        return ResponseEntity.badRequest().body(String.format("""
+                {
+                    "error": "Bilinmeyen downstream: %s",
+                    "validDownstreams": [%s]
+                }
+                """, name.replace("\"", "'"),
+                downstreams.names().stream().map(n -> "\"" + n + "\"").collect(Collectors.joining(", "))));
+    }
+
+    /**
+     * Kaos timeline'ı başlatır (çalışan varsa onun yerine geçer)
+     *
+     * Örnek plan için bkz. TimelinePlan.
+     */
+    @PostMapping(value = "/timeline", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> startTimeline(@RequestBody TimelinePlan plan) {
+        try {
+            chaosTimeline.start(plan);
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ Geçersiz timeline: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(String.format("""
+                    {
+                        "error": "%s"
+                    }
+                    """, e.getMessage().replace("\"", "'")));
+        }
+
+        return ResponseEntity.ok(String.format(Locale.ROOT, """
+                {
+                    "message": "Kaos timeline başladı",
+                    "steps": %d,
+                    "durationSec": %.1f
+                }
+                """, plan.steps().size(), plan.durationSec()));
+    }
+
+    /**
+     * Çalışan kaos timeline'ı durdurur; son uygulanan ayarlar kalır
+     */
+    @DeleteMapping(value = "/timeline", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> stopTimeline() {
+        boolean stopped = chaosTimeline.stop();
+        return ResponseEntity.ok(String.format("""
+                {
+                    "stopped": %s,
+                    "currentScenario": "%s"
+                }
+                """, stopped, scenarioState.current().name()));
+    }
+
     /**
      * Circuit Breaker'ı resetler
      */
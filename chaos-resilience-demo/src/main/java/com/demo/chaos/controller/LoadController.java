@@ -0,0 +1,73 @@
+package com.demo.chaos.controller;
+
+import com.demo.chaos.load.LoadGenerator;
+import com.demo.chaos.load.LoadPlan;
+import com.demo.chaos.load.LoadRun;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Gömülü yük üreteci
+ *
+ * - POST /api/demo/load → Planı başlatır (202), rapor anında döner
+ * - GET /api/demo/load → Son çalıştırmanın raporu (sürerken de)
+ * - DELETE /api/demo/load → Çalışan yükü durdurur
+ *
+ * Harici araçların çoğu closed-loop'tur: sunucu yavaşlayınca onlar da
+ * yavaşlar ve gecikme patlaması görünmez. Bu üretici hedef rate'i
+ * cevaplardan bağımsız olarak korur (bkz. LoadRun).
+ */
+@RestController
+@RequestMapping("/api/demo/load")
+public class LoadController {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadController.class);
+
+    private final LoadGenerator loadGenerator;
+
+    public LoadController(LoadGenerator loadGenerator) {
+        this.loadGenerator = loadGenerator;
+    }
+
+    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> start(@RequestBody LoadPlan plan) {
+        try {
+            LoadRun run = loadGenerator.start(plan);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(run.report());
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ Geçersiz yük planı: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(error(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error(e.getMessage()));
+        }
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> report() {
+        return loadGenerator.lastRun()
+                .map(run -> ResponseEntity.ok(run.report()))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(error("Henüz yük çalıştırılmadı")));
+    }
+
+    @DeleteMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> stop() {
+        return loadGenerator.stop()
+                .map(run -> {
+                    log.info("🛑 Yük #{} durduruluyor", run.getId());
+                    return ResponseEntity.ok(run.report());
+                })
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(error("Çalışan yük yok")));
+    }
+
+    private static String error(String message) {
+        return String.format("""
+                {
+                    "error": "%s"
+                }
+                """, message.replace("\"", "'"));
+    }
+}
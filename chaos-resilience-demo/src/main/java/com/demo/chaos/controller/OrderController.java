@@ -1,30 +1,105 @@
 package com.demo.chaos.controller;
 
+import com.demo.chaos.concurrent.MicroBatcher;
+import com.demo.chaos.config.BatchConfig;
+import com.demo.chaos.config.BatchProperties;
+import com.demo.chaos.deadline.Deadline;
+import com.demo.chaos.deadline.DeadlineExceededException;
+import com.demo.chaos.deadline.DeadlineMetrics;
+import com.demo.chaos.json.JsonBody;
+import com.demo.chaos.json.JsonTemplate;
+import com.demo.chaos.metrics.TrafficStats;
+import com.demo.chaos.metrics.TrafficWindow;
+import com.demo.chaos.service.FallbackBody;
 import com.demo.chaos.service.OrderService;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
 
 /**
  * Sipariş API Controller
  * 
  * Demo endpoint'leri:
  * - /api/order → Korumasız sipariş
- * - /api/order/protected → Resilience4j korumalı
+ * - /api/order/async → Korumasız, request thread'i bloklamadan
+ * - /api/order/protected → Resilience4j korumalı (non-blocking)
+ * - /api/order/protected/blocking → Resilience4j korumalı, .get() ile bekler (karşılaştırma için)
+ * - /api/order/orchestrated → Birden fazla downstream'e paralel, downstream başına koruma
+ * - POST /api/orders/batch → Micro-batch'lenmiş toplu sipariş, NDJSON stream
+ *
+ * /api/order/** isteklerinin deadline'ı vardır (bkz. DeadlineInterceptor);
+ * süresi dolan sipariş 504 Gateway Timeout döner.
+ *
+ * Tek siparişlik endpoint'lerin her cevabı sonucuyla birlikte
+ * TrafficStats'a yazılır (/api/demo/status → canlı RPS ve oranlar).
  */
 @RestController
 @RequestMapping("/api")
 public class OrderController {
 
     private static final Logger log = LoggerFactory.getLogger(OrderController.class);
+    private static final Pattern ORDER_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+    private static final JsonTemplate ERROR_RESPONSE = JsonTemplate.compile("{\"error\": \"%s\"}");
+    private static final JsonTemplate DEADLINE_RESPONSE =
+            JsonTemplate.compile("{\"error\": \"Deadline exceeded\", \"stage\": \"%s\"}");
+
     private final OrderService orderService;
+    private final MicroBatcher<String, JsonBody> orderBatcher;
+    private final BatchProperties batchProperties;
+    private final ObjectMapper objectMapper;
+    private final DeadlineMetrics deadlineMetrics;
+    private final AtomicLong generatedOrderIds = new AtomicLong();
+
+    private final TrafficWindow orderTraffic;
+    private final TrafficWindow asyncTraffic;
+    private final TrafficWindow protectedTraffic;
+    private final TrafficWindow blockingTraffic;
+    private final TrafficWindow orchestratedTraffic;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(
+            OrderService orderService,
+            @Qualifier(BatchConfig.ORDER_BATCHER) MicroBatcher<String, JsonBody> orderBatcher,
+            BatchProperties batchProperties,
+            ObjectMapper objectMapper,
+            DeadlineMetrics deadlineMetrics,
+            TrafficStats trafficStats) {
         this.orderService = orderService;
+        this.orderBatcher = orderBatcher;
+        this.batchProperties = batchProperties;
+        this.objectMapper = objectMapper;
+        this.deadlineMetrics = deadlineMetrics;
+        this.orderTraffic = trafficStats.window("/api/order");
+        this.asyncTraffic = trafficStats.window("/api/order/async");
+        this.protectedTraffic = trafficStats.window("/api/order/protected");
+        this.blockingTraffic = trafficStats.window("/api/order/protected/blocking");
+        this.orchestratedTraffic = trafficStats.window("/api/order/orchestrated");
     }
 
     /**
@@ -34,19 +109,46 @@ public class OrderController {
      * Thread bloklanır ve sistem kilitlenebilir.
      */
     @GetMapping(value = "/order", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<String> createOrder() {
+    public ResponseEntity<JsonBody> createOrder() {
         log.info("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
         log.info("📥 /api/order - KORUMASIZ endpoint çağrıldı");
         log.info("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
 
         long startTime = System.currentTimeMillis();
-        String result = orderService.processOrder();
+        JsonBody result;
+        try {
+            result = orderService.processOrder();
+        } catch (DeadlineExceededException e) {
+            orderTraffic.record(TrafficWindow.Outcome.TIMEOUT);
+            throw e;
+        } catch (RuntimeException e) {
+            orderTraffic.record(TrafficWindow.Outcome.ERROR);
+            throw e;
+        }
+        orderTraffic.record(outcomeOf(result));
         long duration = System.currentTimeMillis() - startTime;
 
         log.info("📤 Response süresi: {}ms", duration);
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * 🔵 KORUMASIZ Sipariş Endpoint - async
+     *
+     * /api/order ile aynı iş, ancak orderExecutor üzerinde çalışır.
+     * Tomcat request thread'i beklerken serbest kalır.
+     */
+    @GetMapping(value = "/order/async", produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<JsonBody>> createOrderAsync() {
+        log.info("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+        log.info("📥 /api/order/async - KORUMASIZ async endpoint çağrıldı");
+        log.info("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+
+        long startTime = System.currentTimeMillis();
+        return orderService.processOrderAsync()
+                .handle((result, error) -> toResponse(result, error, startTime, asyncTraffic));
+    }
+
     /**
      * 🟢 KORUMALI Sipariş Endpoint
      * 
@@ -54,27 +156,232 @@ public class OrderController {
      * - 2 saniye timeout
      * - Circuit breaker
      * - Fallback response
+     *
+     * CompletableFuture döndürür; Spring MVC async desteği sayesinde
+     * request thread'i timeout süresince bloklanmaz.
      */
     @GetMapping(value = "/order/protected", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<String> createOrderProtected() {
+    public CompletableFuture<ResponseEntity<JsonBody>> createOrderProtected() {
         log.info("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
         log.info("🛡️ /api/order/protected - KORUMALI endpoint çağrıldı");
         log.info("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
 
+        long startTime = System.currentTimeMillis();
+        return orderService.processOrderProtected()
+                .handle((result, error) -> toResponse(result, error, startTime, protectedTraffic));
+    }
+
+    /**
+     * 🟡 KORUMALI Sipariş Endpoint - bloklayan
+     *
+     * Eski davranış: .get() ile sonucu bekler ve Tomcat thread'ini
+     * timeout süresince tutar. Async mod ile karşılaştırma için duruyor.
+     * Bekleme isteğin kalan bütçesiyle sınırlıdır.
+     */
+    @GetMapping(value = "/order/protected/blocking", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<JsonBody> createOrderProtectedBlocking() {
+        log.info("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+        log.info("🛡️ /api/order/protected/blocking - KORUMALI (bloklayan) endpoint çağrıldı");
+        log.info("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+
         long startTime = System.currentTimeMillis();
 
+        CompletableFuture<JsonBody> order = orderService.processOrderProtected();
         try {
-            String result = orderService.processOrderProtected().get();
+            long budget = Deadline.budgetMillis();
+            JsonBody result = budget == Long.MAX_VALUE ? order.get() : order.get(budget, TimeUnit.MILLISECONDS);
+            blockingTraffic.record(outcomeOf(result));
             long duration = System.currentTimeMillis() - startTime;
             log.info("📤 Response süresi: {}ms", duration);
             return ResponseEntity.ok(result);
-        } catch (InterruptedException | ExecutionException e) {
+        } catch (TimeoutException e) {
+            order.cancel(true);
+            blockingTraffic.record(TrafficWindow.Outcome.TIMEOUT);
+            return deadlineExceeded(new DeadlineExceededException(Deadline.STAGE_RESPONSE));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DeadlineExceededException deadlineExceeded) {
+                blockingTraffic.record(TrafficWindow.Outcome.TIMEOUT);
+                return deadlineExceeded(deadlineExceeded);
+            }
+            blockingTraffic.record(TrafficWindow.Outcome.ERROR);
             log.error("Error processing protected order", e);
             return ResponseEntity.internalServerError()
-                    .body("{\"error\": \"" + e.getMessage() + "\"}");
+                    .body(ERROR_RESPONSE.render(e.getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            blockingTraffic.record(TrafficWindow.Outcome.ERROR);
+            log.error("Error processing protected order", e);
+            return ResponseEntity.internalServerError()
+                    .body(ERROR_RESPONSE.render(e.getMessage()));
         }
     }
 
+    /**
+     * 🟠 ORKESTRE Sipariş Endpoint
+     *
+     * payment, inventory, fraud, shipping... paralel çağrılır; süre en
+     * yavaş zorunlu downstream kadardır. Opsiyonel downstream'ler tek
+     * tek DEGRADED olabilir (bkz. OrderService.processOrderOrchestrated).
+     */
+    @GetMapping(value = "/order/orchestrated", produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<JsonBody>> createOrderOrchestrated() {
+        log.info("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+        log.info("🟠 /api/order/orchestrated - ORKESTRE endpoint çağrıldı");
+        log.info("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+
+        long startTime = System.currentTimeMillis();
+        return orderService.processOrderOrchestrated()
+                .handle((result, error) -> toResponse(result, error, startTime, orchestratedTraffic));
+    }
+
+    /**
+     * 🟣 TOPLU Sipariş Endpoint
+     *
+     * Gövde: [{"orderId": "A-1"}, {"orderId": "A-2"}, ...]
+     *
+     * Siparişler okundukça micro-batch'lere eklenir (boyut veya linger
+     * süresi dolunca gönderilir). Sonuçlar tamamlanma sırasıyla, her satır
+     * bir sipariş olacak şekilde NDJSON olarak stream edilir; ne istek ne
+     * cevap tamamen belleğe alınır.
+     */
+    @PostMapping(value = "/orders/batch",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> createOrderBatch(HttpServletRequest request) throws IOException {
+        log.info("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+        log.info("🟣 /api/orders/batch - TOPLU endpoint çağrıldı");
+        log.info("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+
+        InputStream body = request.getInputStream();
+        StreamingResponseBody stream = out -> streamBatch(body, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(stream);
+    }
+
+    private void streamBatch(InputStream body, OutputStream out) throws IOException {
+        long startTime = System.currentTimeMillis();
+        BlockingQueue<JsonBody> completed = new LinkedBlockingQueue<>();
+        int pending = 0;
+        int total = 0;
+
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Gövde sipariş listesi (JSON array) olmalı");
+            }
+
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                JsonNode order = objectMapper.readTree(parser);
+                String orderId = order.hasNonNull("orderId")
+                        ? order.get("orderId").asText()
+                        : "ORD-B-" + generatedOrderIds.incrementAndGet();
+                total++;
+
+                if (!ORDER_ID.matcher(orderId).matches()) {
+                    writeLine(out, JsonBody.of(String.format(
+                            "{\"orderId\":%s,\"status\":\"REJECTED\",\"error\":\"Geçersiz orderId\"}",
+                            objectMapper.writeValueAsString(orderId)).getBytes(StandardCharsets.UTF_8)));
+                    continue;
+                }
+
+                // Bellek sınırı: cevabı yazılmamış sipariş sayısı maxInFlight'ı geçmesin
+                while (pending >= batchProperties.getMaxInFlight()) {
+                    writeLine(out, take(completed));
+                    pending--;
+                }
+
+                orderBatcher.submit(orderId)
+                        .handle((line, error) -> error == null ? line : errorLine(orderId, error))
+                        .thenAccept(completed::add);
+                pending++;
+
+                JsonBody ready;
+                boolean wrote = false;
+                while ((ready = completed.poll()) != null) {
+                    writeLine(out, ready);
+                    pending--;
+                    wrote = true;
+                }
+                if (wrote) {
+                    out.flush();
+                }
+            }
+        }
+
+        while (pending > 0) {
+            writeLine(out, take(completed));
+            pending--;
+            out.flush();
+        }
+
+        log.info("📤 Batch tamamlandı: {} sipariş, {}ms", total, System.currentTimeMillis() - startTime);
+    }
+
+    /** orderId REJECTED satırındaki gibi ObjectMapper ile escape edilir */
+    private JsonBody errorLine(String orderId, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error;
+        log.error("Error processing batch order {}", orderId, cause);
+        try {
+            return JsonBody.of(String.format("{\"orderId\":%s,\"status\":\"DEGRADED\",\"error\":\"%s\"}",
+                    objectMapper.writeValueAsString(orderId),
+                    cause.getClass().getSimpleName()).getBytes(StandardCharsets.UTF_8));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static JsonBody take(BlockingQueue<JsonBody> completed) throws IOException {
+        try {
+            return completed.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Batch cevabı beklenirken kesildi");
+        }
+    }
+
+    private static void writeLine(OutputStream out, JsonBody line) throws IOException {
+        line.writeTo(out);
+        out.write('\n');
+    }
+
+    private ResponseEntity<JsonBody> toResponse(JsonBody result, Throwable error, long startTime,
+                                                TrafficWindow traffic) {
+        long duration = System.currentTimeMillis() - startTime;
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            if (cause instanceof DeadlineExceededException deadlineExceeded) {
+                traffic.record(TrafficWindow.Outcome.TIMEOUT);
+                return deadlineExceeded(deadlineExceeded);
+            }
+            traffic.record(TrafficWindow.Outcome.ERROR);
+            log.error("Error processing order", cause);
+            return ResponseEntity.internalServerError()
+                    .body(ERROR_RESPONSE.render(cause.getMessage()));
+        }
+        traffic.record(outcomeOf(result));
+        log.info("📤 Response süresi: {}ms", duration);
+        return ResponseEntity.ok(result);
+    }
+
+    /** Fallback cevabı 200 döner ama gerçek sipariş sayılmaz */
+    private static TrafficWindow.Outcome outcomeOf(JsonBody result) {
+        return result instanceof FallbackBody fallback ? fallback.outcome() : TrafficWindow.Outcome.SUCCESS;
+    }
+
+    /**
+     * Süresi dolan sipariş: istemci muhtemelen vazgeçti, kısa cevap yeter.
+     * Senkron endpoint'ler (ör. /api/order) buraya exception ile gelir.
+     */
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<JsonBody> deadlineExceeded(DeadlineExceededException e) {
+        log.warn("⌛ Deadline aşıldı: {}", e.getStage());
+        deadlineMetrics.exceeded(e.getStage());
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(DEADLINE_RESPONSE.render(e.getStage()));
+    }
+
     /**
      * Health check endpoint
      */
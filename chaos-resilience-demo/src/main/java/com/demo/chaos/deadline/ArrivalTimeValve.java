@@ -0,0 +1,35 @@
+package com.demo.chaos.deadline;
+
+import jakarta.servlet.ServletException;
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.valves.ValveBase;
+
+import java.io.IOException;
+
+/**
+ * İsteğin Tomcat'e geliş anını (ilk byte okunduğunda, nanoTime) request
+ * attribute'una yazar.
+ *
+ * Servlet API bu anı vermez; interceptor'da ölçülen zaman worker
+ * thread kuyruğunda geçen süreyi kaçırır. Bağlantının accept
+ * kuyruğundaki bekleme buradan da görünmez; onu da saymak isteyen
+ * istemci mutlak X-Request-Deadline gönderir.
+ */
+public class ArrivalTimeValve extends ValveBase {
+
+    public static final String ARRIVAL_NANOS_ATTRIBUTE = ArrivalTimeValve.class.getName() + ".arrivalNanos";
+
+    public ArrivalTimeValve() {
+        super(true);
+    }
+
+    @Override
+    public void invoke(Request request, Response response) throws IOException, ServletException {
+        long startNanos = request.getCoyoteRequest().getStartTimeNanos();
+        if (startNanos > 0) {
+            request.setAttribute(ARRIVAL_NANOS_ATTRIBUTE, startNanos);
+        }
+        getNext().invoke(request, response);
+    }
+}
@@ -0,0 +1,163 @@
+package com.demo.chaos.deadline;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * İsteğin mutlak bitiş anı (System.nanoTime).
+ *
+ * Request thread'ine DeadlineInterceptor bağlar; propagate() ile
+ * executor thread'lerine taşınır. Her aşama kendi sabit timeout'u
+ * yerine kalan bütçeyi kullanır ve süresi geçmiş işi başlatmaz.
+ * Deadline bağlanmamış thread'lerde (ör. micro-batch) tüm yardımcılar
+ * eski davranışı korur.
+ */
+public final class Deadline {
+
+    public static final String STAGE_ARRIVAL = "arrival";
+    public static final String STAGE_ORDER_EXECUTOR = "order-executor";
+    public static final String STAGE_EXTERNAL = "external";
+    public static final String STAGE_DOWNSTREAM = "downstream";
+    public static final String STAGE_CHAOS = "chaos";
+    public static final String STAGE_RESPONSE = "response";
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    /** startNanos anından itibaren budgetMillis */
+    public static Deadline after(long startNanos, long budgetMillis) {
+        return new Deadline(startNanos + TimeUnit.MILLISECONDS.toNanos(budgetMillis));
+    }
+
+    public long remainingNanos() {
+        return expiresAtNanos - System.nanoTime();
+    }
+
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(remainingNanos());
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    public void check(String stage) {
+        if (isExpired()) {
+            throw new DeadlineExceededException(stage);
+        }
+    }
+
+    public static Optional<Deadline> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    public static void bind(Deadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Timer ile simüle edilen gecikmeler için kalan bütçe (ms);
+     * deadline bağlı değilse Long.MAX_VALUE.
+     */
+    public static long budgetMillis() {
+        Deadline deadline = CURRENT.get();
+        return deadline != null ? deadline.remainingMillis() : Long.MAX_VALUE;
+    }
+
+    /** Bağlı deadline geçmişse hemen DeadlineExceededException */
+    public static void checkCurrent(String stage) {
+        Deadline deadline = CURRENT.get();
+        if (deadline != null) {
+            deadline.check(stage);
+        }
+    }
+
+    /**
+     * Executor'a verilecek işi sarar: deadline'ı taşır ve iş kuyrukta
+     * beklerken süre dolduysa hiç başlatmaz.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        return propagate(task, STAGE_ORDER_EXECUTOR);
+    }
+
+    /**
+     * propagate() ile aynı; sarılan iş birden fazla kez ve başka
+     * thread'lerden (ör. hedge timer'ı) çağrılabilir.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task, String stage) {
+        Deadline deadline = CURRENT.get();
+        if (deadline == null) {
+            return task;
+        }
+        return () -> {
+            deadline.check(stage);
+            Deadline previous = CURRENT.get();
+            CURRENT.set(deadline);
+            try {
+                return task.get();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * Simüle gecikme: en fazla kalan bütçe kadar uyur. Gecikme bütçeyi
+     * aşıyorsa bütçe bitince vazgeçer; kimsenin beklemediği cevap üretilmez.
+     */
+    public static void sleep(long millis, String stage) throws InterruptedException {
+        Deadline deadline = CURRENT.get();
+        if (deadline == null) {
+            Thread.sleep(millis);
+            return;
+        }
+        long remaining = deadline.remainingNanos();
+        if (remaining <= 0) {
+            throw new DeadlineExceededException(stage);
+        }
+        if (TimeUnit.MILLISECONDS.toNanos(millis) > remaining) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+            throw new DeadlineExceededException(stage);
+        }
+        Thread.sleep(millis);
+    }
+
+    /**
+     * Bağlı deadline varsa future'ı en geç deadline'da
+     * DeadlineExceededException ile tamamlar; yoksa olduğu gibi döner.
+     */
+    public static <T> CompletableFuture<T> bound(CompletableFuture<T> future, ScheduledExecutorService timer) {
+        return bound(future, timer, STAGE_RESPONSE);
+    }
+
+    /** bound() ile aynı; aşım verilen aşamaya yazılır */
+    public static <T> CompletableFuture<T> bound(CompletableFuture<T> future, ScheduledExecutorService timer,
+                                                 String stage) {
+        Deadline deadline = CURRENT.get();
+        if (deadline == null || future.isDone()) {
+            return future;
+        }
+        ScheduledFuture<?> expiry = timer.schedule(
+                () -> future.completeExceptionally(new DeadlineExceededException(stage)),
+                deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        future.whenComplete((result, error) -> expiry.cancel(false));
+        return future;
+    }
+}
@@ -0,0 +1,23 @@
+package com.demo.chaos.deadline;
+
+/**
+ * İsteğin süresi (deadline) doldu; iş başlatılmadı veya yarıda bırakıldı.
+ *
+ * İstemci artık beklemediği için bu hızlı yol olmalı: stack trace
+ * toplanmaz. Circuit breaker bu exception'ı saymaz (application.yml →
+ * ignoreExceptions); bütçeyi istemci belirler, downstream değil.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    private final String stage;
+
+    public DeadlineExceededException(String stage) {
+        super("Deadline aşıldı (" + stage + ")", null, false, false);
+        this.stage = stage;
+    }
+
+    /** Deadline'ın fark edildiği aşama (ör. arrival, order-executor, external) */
+    public String getStage() {
+        return stage;
+    }
+}
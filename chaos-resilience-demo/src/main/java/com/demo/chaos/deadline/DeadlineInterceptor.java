@@ -0,0 +1,110 @@
+package com.demo.chaos.deadline;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * İsteğin deadline'ını belirler, request thread'ine bağlar ve süresi
+ * zaten dolmuş isteği controller'a hiç ulaştırmadan 504 ile reddeder.
+ *
+ * Bütçe sırasıyla:
+ * - X-Request-Deadline: mutlak bitiş anı (epoch ms); istemci tarafı
+ *   bekleme ve Tomcat kuyruğu dahil her şeyi kapsar
+ * - X-Request-Timeout: geliş anından itibaren ms
+ * - demo.deadline.default-timeout-ms
+ *
+ * Geliş anı ArrivalTimeValve'den okunur; böylece sadece Tomcat
+ * kuyruğunda beklemiş istekler de bütçesini harcamış sayılır. Async
+ * dispatch'te (cevap hazır) tekrar kontrol edilmez.
+ */
+public class DeadlineInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(DeadlineInterceptor.class);
+
+    public static final String DEADLINE_HEADER = "X-Request-Deadline";
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private static final byte[] REJECTED_RESPONSE = """
+            {
+                "error": "Deadline exceeded",
+                "stage": "arrival",
+                "message": "İstek işlenmeden önce süresi doldu"
+            }
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final long defaultTimeoutMs;
+    private final DeadlineMetrics deadlineMetrics;
+
+    public DeadlineInterceptor(long defaultTimeoutMs, DeadlineMetrics deadlineMetrics) {
+        this.defaultTimeoutMs = defaultTimeoutMs;
+        this.deadlineMetrics = deadlineMetrics;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
+        Deadline deadline = resolve(request);
+        if (deadline.isExpired()) {
+            log.warn("⌛ Süresi dolmuş istek reddedildi: {} ({}ms geç)",
+                    request.getRequestURI(), -deadline.remainingMillis());
+            deadlineMetrics.exceeded(Deadline.STAGE_ARRIVAL);
+            response.setStatus(HttpStatus.GATEWAY_TIMEOUT.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(REJECTED_RESPONSE.length);
+            response.getOutputStream().write(REJECTED_RESPONSE);
+            return false;
+        }
+        Deadline.bind(deadline);
+        return true;
+    }
+
+    private Deadline resolve(HttpServletRequest request) {
+        long now = System.nanoTime();
+        Long absolute = parse(request.getHeader(DEADLINE_HEADER));
+        if (absolute != null) {
+            return Deadline.after(now, absolute - System.currentTimeMillis());
+        }
+
+        Object arrival = request.getAttribute(ArrivalTimeValve.ARRIVAL_NANOS_ATTRIBUTE);
+        long arrivalNanos = arrival instanceof Long nanos ? nanos : now;
+        Long timeout = parse(request.getHeader(TIMEOUT_HEADER));
+        return Deadline.after(arrivalNanos, timeout != null ? timeout : defaultTimeoutMs);
+    }
+
+    /** Geçersiz header yok sayılır (varsayılan bütçe uygulanır) */
+    private static Long parse(String header) {
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        Deadline.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        Deadline.clear();
+    }
+}
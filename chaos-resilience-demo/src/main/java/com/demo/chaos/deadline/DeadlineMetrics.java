@@ -0,0 +1,34 @@
+package com.demo.chaos.deadline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deadline yüzünden bırakılan istekler: order.deadline.exceeded{stage}.
+ *
+ * stage=arrival, isteğin Tomcat kuyruğunda beklerken bütçesini
+ * tükettiğini gösterir.
+ */
+@Component
+public class DeadlineMetrics {
+
+    public static final String METRIC = "order.deadline.exceeded";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public DeadlineMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void exceeded(String stage) {
+        counters.computeIfAbsent(stage, s -> Counter.builder(METRIC)
+                        .tag("stage", s)
+                        .register(meterRegistry))
+                .increment();
+    }
+}
@@ -0,0 +1,286 @@
+package com.demo.chaos.external;
+
+import com.demo.chaos.concurrent.AdaptiveConcurrencyLimiter;
+import com.demo.chaos.concurrent.ConcurrencyLimitExceededException;
+import com.demo.chaos.concurrent.InterruptibleFutures;
+import com.demo.chaos.concurrent.SingleFlightCache;
+import com.demo.chaos.config.ExternalServiceConfig;
+import com.demo.chaos.config.ExternalServiceProperties;
+import com.demo.chaos.deadline.Deadline;
+import com.demo.chaos.deadline.DeadlineExceededException;
+import com.demo.chaos.external.http.HttpExternalClient;
+import com.demo.chaos.json.JsonBody;
+import com.demo.chaos.metrics.StageMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * FakeExternalService önündeki opsiyonel cache katmanı.
+ *
+ * demo.external.cache.enabled=true iken:
+ * - Eşzamanlı çağrılar tek bir external çağrıyı paylaşır (coalescing)
+ * - Taze cevap TTL boyunca cache'ten döner
+ * - TTL dolunca eski cevap hemen döner, arka planda yenilenir
+ *
+ * Kapalıyken çağrılar doğrudan FakeExternalService'e gider.
+ * Cache'e takılmayan her gerçek çağrı EXTERNAL aşaması olarak ölçülür.
+ *
+ * demo.external.limiter.enabled=true iken gerçek çağrılar adaptif bir
+ * eşzamanlılık limitinden geçer; limit doluyken çağrı beklemeden
+ * ConcurrencyLimitExceededException ile reddedilir (korumalı yolda
+ * fallback'e düşer).
+ *
+ * demo.external.http.enabled=true iken tekil çağrılar süreç içi metod
+ * yerine stub sunucuya havuzlu HTTP ile gider (bkz. HttpTransportConfig);
+ * cache ve limit aynen uygulanır. Batch çağrısı süreç içi kalır.
+ *
+ * Paylaşılan yükleme hiçbir isteğin deadline'ını taşımaz (cacheLoader
+ * thread'inde çalışır); kısa bütçeli bir istemci coalesce edilen diğer
+ * siparişleri düşürmesin diye her bekleyen kendi bütçesini kendi
+ * kopyasına uygular.
+ *
+ * Not: @Service değil @Component; Chaos Monkey sadece service
+ * watcher'ı açık olduğu için gecikme bu katmana değil, gerçek
+ * external çağrıya uygulanır.
+ */
+@Component
+public class CachingExternalService {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingExternalService.class);
+
+    /** Tek bir external endpoint var; hepsi aynı key'i paylaşır */
+    private static final String PAYMENT_KEY = "payment";
+
+    private final FakeExternalService delegate;
+    private final boolean enabled;
+    private final SingleFlightCache<String, JsonBody> cache;
+    /** null ise limit uygulanmaz */
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final StageMetrics stageMetrics;
+    /** null ise çağrı süreç içi */
+    private final HttpExternalClient httpClient;
+    private final ScheduledExecutorService latencyTimer;
+
+    public CachingExternalService(
+            FakeExternalService delegate,
+            ExternalServiceProperties properties,
+            @Qualifier(ExternalServiceConfig.CACHE_LOADER) ExecutorService cacheLoader,
+            @Qualifier(ExternalServiceConfig.LATENCY_TIMER) ScheduledExecutorService latencyTimer,
+            MeterRegistry meterRegistry,
+            StageMetrics stageMetrics,
+            ObjectProvider<HttpExternalClient> httpClient) {
+        ExternalServiceProperties.Cache cacheProperties = properties.getCache();
+        this.delegate = delegate;
+        this.stageMetrics = stageMetrics;
+        this.httpClient = httpClient.getIfAvailable();
+        this.latencyTimer = latencyTimer;
+        this.enabled = cacheProperties.isEnabled();
+        this.cache = new SingleFlightCache<>(
+                Duration.ofMillis(cacheProperties.getTtlMs()),
+                Duration.ofMillis(cacheProperties.getStaleMs()),
+                cacheProperties.getMaxSize(),
+                cacheLoader);
+
+        registerCounter(meterRegistry, "hit", SingleFlightCache::hitCount);
+        registerCounter(meterRegistry, "miss", SingleFlightCache::missCount);
+        registerCounter(meterRegistry, "coalesced", SingleFlightCache::coalescedCount);
+        registerCounter(meterRegistry, "stale", SingleFlightCache::staleCount);
+        Gauge.builder("external.cache.size", cache, SingleFlightCache::size)
+                .register(meterRegistry);
+
+        log.info("🗄️ External cache: enabled={}, ttl={}ms, stale={}ms, maxSize={}",
+                enabled, cacheProperties.getTtlMs(), cacheProperties.getStaleMs(), cacheProperties.getMaxSize());
+
+        ExternalServiceProperties.Limiter limiterProperties = properties.getLimiter();
+        this.limiter = limiterProperties.isEnabled() ? createLimiter(limiterProperties, meterRegistry) : null;
+        log.info("🚦 External concurrency limit: enabled={}, initial={}, min={}, max={}",
+                limiterProperties.isEnabled(), limiterProperties.getInitialLimit(),
+                limiterProperties.getMinLimit(), limiterProperties.getMaxLimit());
+        log.info("🔌 External transport: {}", this.httpClient != null ? "http" : "in-process");
+    }
+
+    private static AdaptiveConcurrencyLimiter createLimiter(ExternalServiceProperties.Limiter properties,
+                                                            MeterRegistry meterRegistry) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                properties.getInitialLimit(),
+                properties.getMinLimit(),
+                properties.getMaxLimit(),
+                properties.getRttTolerance(),
+                properties.getSmoothing(),
+                properties.getBackoffRatio());
+
+        Gauge.builder("external.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .register(meterRegistry);
+        Gauge.builder("external.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .register(meterRegistry);
+        FunctionCounter.builder("external.concurrency.rejected", limiter, AdaptiveConcurrencyLimiter::rejectedCount)
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    /**
+     * Bloklayan çağrı. Cache'ten geçen external çağrı cacheLoader
+     * thread'inde yapılır; bu thread (lider dahil) sadece sonucu bekler.
+     * Bekleme interrupt ile iptal edilebilir ve en fazla isteğin kalan
+     * bütçesi kadar sürer; ikisi de yüklemeyi iptal etmez.
+     */
+    public JsonBody callExternalApi() {
+        if (!enabled) {
+            return callDelegate();
+        }
+        return await(cache.get(PAYMENT_KEY, this::loadBlocking));
+    }
+
+    /**
+     * Non-blocking çağrı. Dönen future'ın iptali ya da isteğin
+     * deadline'ının dolması paylaşılan external çağrıyı iptal etmez;
+     * sonuç yine cache'e yazılır.
+     */
+    public CompletableFuture<JsonBody> callExternalApiAsync() {
+        if (!enabled) {
+            return callDelegateAsync();
+        }
+        return Deadline.bound(cache.get(PAYMENT_KEY, this::callDelegateAsync), latencyTimer,
+                Deadline.STAGE_EXTERNAL);
+    }
+
+    /**
+     * Batch çağrısı; sipariş bazlı olduğu için cache'lenmez.
+     */
+    public List<JsonBody> callExternalApiBatch(List<String> orderIds) {
+        return limited(() -> stageMetrics.record(StageMetrics.Stage.EXTERNAL,
+                () -> delegate.callExternalApiBatch(orderIds)));
+    }
+
+    /**
+     * Fallback'ler için son başarılı external cevap (taze veya stale).
+     */
+    public Optional<JsonBody> lastKnownResponse() {
+        return cache.peek(PAYMENT_KEY);
+    }
+
+    private CompletableFuture<JsonBody> loadBlocking() {
+        try {
+            return CompletableFuture.completedFuture(callDelegate());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private JsonBody callDelegate() {
+        Supplier<JsonBody> call = httpClient != null ? httpClient::callBlocking : delegate::callExternalApi;
+        return limited(() -> stageMetrics.record(StageMetrics.Stage.EXTERNAL, call));
+    }
+
+    private <T> T limited(Supplier<T> call) {
+        if (limiter == null) {
+            return call.get();
+        }
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire()
+                .orElseThrow(() -> new ConcurrencyLimitExceededException(limiter.getLimit()));
+        try {
+            T result = call.get();
+            permit.success();
+            return result;
+        } catch (RuntimeException e) {
+            if (InterruptibleFutures.isCancelled()) {
+                // Kazanan hedge vb.: downstream'in hızı hakkında bilgi yok
+                permit.ignore();
+            } else {
+                // Timeout dahil: downstream yetişemiyor
+                permit.dropped();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Ölçüm yan etki olarak bağlanır; çağırana delegate'in kendi future'ı
+     * döner ki iptal zamanlanmış cevaba ulaşsın.
+     */
+    private CompletableFuture<JsonBody> callDelegateAsync() {
+        AdaptiveConcurrencyLimiter.Permit permit = null;
+        if (limiter != null) {
+            Optional<AdaptiveConcurrencyLimiter.Permit> acquired = limiter.tryAcquire();
+            if (acquired.isEmpty()) {
+                return CompletableFuture.failedFuture(new ConcurrencyLimitExceededException(limiter.getLimit()));
+            }
+            permit = acquired.get();
+        }
+
+        StageMetrics.Sample sample = stageMetrics.start(StageMetrics.Stage.EXTERNAL);
+        CompletableFuture<JsonBody> future;
+        try {
+            future = httpClient != null ? httpClient.call() : delegate.scheduleExternalApiCall();
+        } catch (RuntimeException e) {
+            sample.stop();
+            if (permit != null) {
+                permit.dropped();
+            }
+            throw e;
+        }
+
+        AdaptiveConcurrencyLimiter.Permit held = permit;
+        future.whenComplete((result, error) -> {
+            sample.stop();
+            if (held != null) {
+                if (error == null) {
+                    held.success();
+                } else if (error instanceof CancellationException) {
+                    // Kazanan hedge vb.; timeout hatası iptal olarak değil aynen gelir
+                    held.ignore();
+                } else {
+                    held.dropped();
+                }
+            }
+        });
+        return future;
+    }
+
+    private static JsonBody await(CompletableFuture<JsonBody> future) {
+        Deadline deadline = Deadline.current().orElse(null);
+        try {
+            return deadline != null
+                    ? future.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS)
+                    : future.get();
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException(Deadline.STAGE_EXTERNAL);
+        } catch (InterruptedException e) {
+            // join() interrupt'a cevap vermez; timeout'ta thread serbest kalsın
+            Thread.currentThread().interrupt();
+            throw new CancellationException("External API beklemesi iptal edildi");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    private void registerCounter(MeterRegistry registry, String result,
+                                 ToDoubleFunction<SingleFlightCache<String, JsonBody>> count) {
+        FunctionCounter.builder("external.cache.requests", cache, count)
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -1,12 +1,31 @@
 package com.demo.chaos.external;
 
+import com.demo.chaos.config.ExternalServiceConfig;
+import com.demo.chaos.deadline.Deadline;
+import com.demo.chaos.deadline.DeadlineExceededException;
+import com.demo.chaos.external.latency.LatencyModel;
+import com.demo.chaos.json.CachedClock;
+import com.demo.chaos.json.JsonBody;
+import com.demo.chaos.json.JsonTemplate;
+import com.demo.chaos.metrics.TrafficStats;
+import com.demo.chaos.metrics.TrafficWindow;
+import com.demo.chaos.scenario.ScenarioAssault;
+import com.demo.chaos.scenario.ScenarioSnapshot;
+import com.demo.chaos.scenario.ScenarioState;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Sahte harici servis - başka bir mikroservisi simüle eder.
@@ -14,58 +33,215 @@ import java.util.concurrent.atomic.AtomicInteger;
  * Mental model: Bu bir payment gateway, inventory service veya
  * third-party API olabilir.
  * 
- * Chaos Monkey bu servisin metodlarını hedef alacak.
+ * Chaos Monkey bu servisin bloklayan metodlarını (callExternalApi*)
+ * hedef alır. Non-blocking scheduleExternalApiCall() izlenmez: proxy
+ * gecikmesi çağıran thread'i uyuturdu. Senaryo saldırısını kendisi,
+ * timer gecikmesine ekleyerek uygular.
+ *
+ * Her çağrı TrafficStats'ın "external" penceresine yazılır; hedge ve
+ * retry ile siparişten fazla çağrı yapıldığı buradan görülür. Chaos
+ * Monkey exception'ları (proxy'de veya async yolda) burada sayılmaz.
  */
 @Service
 public class FakeExternalService {
 
     private static final Logger log = LoggerFactory.getLogger(FakeExternalService.class);
-    private final AtomicInteger callCount = new AtomicInteger(0);
+
+    /** Public: ResponseRenderingBenchmark üretimdeki şablonu ölçer */
+    public static final JsonTemplate RESPONSE = JsonTemplate.compile("""
+            {
+                "source": "External Payment Service",
+                "status": "SUCCESS",
+                "callNumber": %s,
+                "responseTime": "%sms",
+                "timestamp": "%s"
+            }
+            """);
+
+    /** Batch cevabının sipariş başına satırı (NDJSON için tek satır) */
+    private static final JsonTemplate BATCH_RESPONSE = JsonTemplate.compile(
+            "{\"source\":\"External Payment Service\",\"status\":\"SUCCESS\",\"orderId\":\"%s\","
+                    + "\"callNumber\":%s,\"responseTime\":\"%sms\",\"timestamp\":\"%s\"}");
+
+    /** Toplam çağrı (istatistik); eşzamanlı artırımlar tek sayaçta yarışmasın diye striped */
+    private final LongAdder callCount = new LongAdder();
+    /** Log ve cevaptaki benzersiz çağrı numarası */
+    private final AtomicLong callSequence = new AtomicLong();
+
+    private final LatencyModel latencyModel;
+    private final ScheduledExecutorService latencyTimer;
+    private final TrafficWindow traffic;
+    private final ScenarioState scenarioState;
+
+    public FakeExternalService(
+            LatencyModel latencyModel,
+            @Qualifier(ExternalServiceConfig.LATENCY_TIMER) ScheduledExecutorService latencyTimer,
+            TrafficStats trafficStats,
+            ScenarioState scenarioState) {
+        this.latencyModel = latencyModel;
+        this.latencyTimer = latencyTimer;
+        this.traffic = trafficStats.window(TrafficStats.EXTERNAL);
+        this.scenarioState = scenarioState;
+    }
 
     /**
      * Harici servisi çağırır.
-     * Normal durumda ~200ms sürer.
+     * Normal durumda ~200ms sürer (latency modeline göre).
      * Chaos Monkey aktifken 3-5 saniye gecikme eklenir.
+     * İsteğin deadline'ı varsa en fazla kalan bütçe kadar beklenir.
      */
-    public String callExternalApi() {
-        int count = callCount.incrementAndGet();
+    public JsonBody callExternalApi() {
+        long count = nextCallNumber();
         long startTime = System.currentTimeMillis();
 
         log.info("📡 [{}] External API çağrısı başlıyor...", count);
 
-        // Normal çalışma simülasyonu - 200ms
+        // Normal çalışma simülasyonu - latency modeli (varsayılan 200ms)
         try {
-            Thread.sleep(200);
+            Deadline.sleep(latencyModel.nextDelayMillis(), Deadline.STAGE_EXTERNAL);
+        } catch (DeadlineExceededException e) {
+            traffic.record(TrafficWindow.Outcome.TIMEOUT);
+            log.warn("⌛ [{}] External API çağrısı deadline yüzünden bırakıldı", count);
+            throw e;
         } catch (InterruptedException e) {
+            // Çağıran vazgeçti (timeout/cancel) - boşuna cevap üretme
             Thread.currentThread().interrupt();
+            traffic.record(TrafficWindow.Outcome.TIMEOUT);
+            log.warn("🛑 [{}] External API çağrısı iptal edildi", count);
+            throw new CancellationException("External API çağrısı iptal edildi");
         }
 
         long duration = System.currentTimeMillis() - startTime;
+        traffic.record(TrafficWindow.Outcome.SUCCESS);
         log.info("✅ [{}] External API cevap verdi: {}ms", count, duration);
 
-        return String.format("""
-                {
-                    "source": "External Payment Service",
-                    "status": "SUCCESS",
-                    "callNumber": %d,
-                    "responseTime": "%dms",
-                    "timestamp": "%s"
-                }
-                """,
-                count,
-                duration,
-                LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        return buildResponse(count, duration);
+    }
+
+    /**
+     * Harici servisi non-blocking çağırır.
+     *
+     * Gecikme Thread.sleep ile değil, timer ile simüle edilir; bekleyen
+     * çağrı hiçbir thread tutmaz. Future dışarıdan tamamlanırsa
+     * (timeout/cancel) zamanlanmış cevap iptal edilir.
+     *
+     * Senaryo saldırısı (bkz. ScenarioAssault) burada uygulanır: kaos
+     * gecikmesi timer gecikmesine eklenir, exception future'ı hemen
+     * başarısız tamamlar. Chaos Monkey level ayarı geçerlidir.
+     *
+     * Gecikme isteğin kalan bütçesini aşıyorsa cevap beklenmez; bütçe
+     * bitince DeadlineExceededException ile tamamlanır.
+     */
+    public CompletableFuture<JsonBody> scheduleExternalApiCall() {
+        long count = nextCallNumber();
+        long startTime = System.currentTimeMillis();
+
+        long budget = Deadline.budgetMillis();
+        if (budget <= 0) {
+            traffic.record(TrafficWindow.Outcome.TIMEOUT);
+            return CompletableFuture.failedFuture(new DeadlineExceededException(Deadline.STAGE_EXTERNAL));
+        }
+
+        ScenarioSnapshot snapshot = scenarioState.current();
+        ScenarioSnapshot.Attack attack = snapshot.nextAttack();
+        if (attack != ScenarioSnapshot.Attack.NONE && !scenarioState.isTrouble()) {
+            attack = ScenarioSnapshot.Attack.NONE;
+        }
+        if (attack == ScenarioSnapshot.Attack.EXCEPTION) {
+            return CompletableFuture.failedFuture(ScenarioAssault.chaosException());
+        }
+
+        long delay = latencyModel.nextDelayMillis();
+        // Model gecikmesi bütçeye sığıyorsa aşımın sebebi kaos gecikmesidir
+        String stage = delay <= budget && attack == ScenarioSnapshot.Attack.LATENCY
+                ? Deadline.STAGE_CHAOS
+                : Deadline.STAGE_EXTERNAL;
+        if (attack == ScenarioSnapshot.Attack.LATENCY) {
+            delay += snapshot.nextLatencyMillis();
+        }
+        boolean exceedsBudget = delay > budget;
+
+        log.info("📡 [{}] External API (async) çağrısı başlıyor...", count);
+
+        CompletableFuture<JsonBody> response = new CompletableFuture<>();
+        ScheduledFuture<?> timer = latencyTimer.schedule(() -> {
+            long duration = System.currentTimeMillis() - startTime;
+            if (exceedsBudget) {
+                response.completeExceptionally(new DeadlineExceededException(stage));
+            } else if (response.complete(buildResponse(count, duration))) {
+                log.info("✅ [{}] External API (async) cevap verdi: {}ms", count, duration);
+            }
+        }, exceedsBudget ? budget : delay, TimeUnit.MILLISECONDS);
+
+        // Timeout/iptal ve deadline aşımı çağıran açısından aynı: cevap gelmedi
+        response.whenComplete((result, error) -> {
+            if (error != null) {
+                timer.cancel(false);
+                traffic.record(TrafficWindow.Outcome.TIMEOUT);
+            } else {
+                traffic.record(TrafficWindow.Outcome.SUCCESS);
+            }
+        });
+        return response;
+    }
+
+    /**
+     * Birden fazla siparişi tek round-trip'te işler (batch API).
+     * Gecikme çağrı başına bir kez uygulanır; sipariş sayısından bağımsızdır.
+     *
+     * @return her sipariş için tek satırlık (compact) JSON cevap, aynı sırada
+     */
+    public List<JsonBody> callExternalApiBatch(List<String> orderIds) {
+        long count = nextCallNumber();
+        long startTime = System.currentTimeMillis();
+
+        log.info("📡 [{}] External API batch çağrısı başlıyor ({} sipariş)...", count, orderIds.size());
+
+        try {
+            Thread.sleep(latencyModel.nextDelayMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            traffic.record(TrafficWindow.Outcome.TIMEOUT);
+            log.warn("🛑 [{}] External API batch çağrısı iptal edildi", count);
+            throw new CancellationException("External API batch çağrısı iptal edildi");
+        }
+
+        long duration = System.currentTimeMillis() - startTime;
+        traffic.record(TrafficWindow.Outcome.SUCCESS);
+        log.info("✅ [{}] External API batch cevap verdi: {}ms", count, duration);
+
+        byte[] timestamp = CachedClock.isoLocalDateTime();
+        List<JsonBody> responses = new ArrayList<>(orderIds.size());
+        for (String orderId : orderIds) {
+            responses.add(BATCH_RESPONSE.render(orderId, count, duration, timestamp));
+        }
+        return responses;
+    }
+
+    private JsonBody buildResponse(long count, long duration) {
+        return RESPONSE.render(count, duration, CachedClock.isoLocalDateTime());
+    }
+
+    /**
+     * Log ve cevaptaki çağrı numarası. Numara AtomicLong'dan gelir;
+     * LongAdder sadece sayılır, sıcak yolda sum() yapılmaz.
+     */
+    private long nextCallNumber() {
+        callCount.increment();
+        return callSequence.incrementAndGet();
     }
 
     /**
      * Çağrı sayacını sıfırlar (demo için)
      */
     public void resetCounter() {
-        callCount.set(0);
+        callCount.reset();
+        callSequence.set(0);
         log.info("🔄 Call counter reset");
     }
 
-    public int getCallCount() {
-        return callCount.get();
+    /** Toplam çağrı; anlık hız için TrafficStats'ın "external" penceresi */
+    public long getCallCount() {
+        return callCount.sum();
     }
 }
@@ -0,0 +1,83 @@
+package com.demo.chaos.external.downstream;
+
+import com.demo.chaos.concurrent.ScatterGather;
+import com.demo.chaos.json.JsonBody;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Korumalı downstream dalı: kendi circuit breaker'ı ve timeout'u ile.
+ *
+ * Annotation yerine programatik Resilience4j kullanılır; downstream
+ * listesi yapılandırmadan geldiği için isimler derleme anında belli
+ * değildir. Dal iptal edilirse (scatter-gather artık beklemiyor)
+ * simüle çağrı da iptal edilir; CancellationException circuit
+ * breaker'da hata sayılmaz (application.yml → configs.downstream).
+ */
+public final class Downstream {
+
+    private final FakeDownstream service;
+    private final boolean required;
+    private final CircuitBreaker circuitBreaker;
+    private final TimeLimiter timeLimiter;
+    private final ScheduledExecutorService timer;
+    private final ScatterGather.Branch<JsonBody> branch;
+
+    public Downstream(FakeDownstream service, boolean required, CircuitBreaker circuitBreaker,
+                      TimeLimiter timeLimiter, ScheduledExecutorService timer) {
+        this.service = service;
+        this.required = required;
+        this.circuitBreaker = circuitBreaker;
+        this.timeLimiter = timeLimiter;
+        this.timer = timer;
+        this.branch = new ScatterGather.Branch<>(service.getName(), required, this::call);
+    }
+
+    public CompletableFuture<JsonBody> call() {
+        AtomicReference<CompletableFuture<JsonBody>> attempt = new AtomicReference<>();
+        CompletableFuture<JsonBody> result = circuitBreaker.decorateCompletionStage(
+                        () -> timeLimiter.executeCompletionStage(timer, () -> {
+                            CompletableFuture<JsonBody> response = service.call();
+                            attempt.set(response);
+                            return response;
+                        }))
+                .get()
+                .toCompletableFuture();
+
+        result.whenComplete((value, error) -> {
+            CompletableFuture<JsonBody> response = attempt.get();
+            if (error != null && response != null) {
+                response.cancel(false);
+            }
+        });
+        return result;
+    }
+
+    public String getName() {
+        return service.getName();
+    }
+
+    public boolean isRequired() {
+        return required;
+    }
+
+    public FakeDownstream getService() {
+        return service;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public long getTimeoutMs() {
+        return timeLimiter.getTimeLimiterConfig().getTimeoutDuration().toMillis();
+    }
+
+    ScatterGather.Branch<JsonBody> branch() {
+        return branch;
+    }
+}
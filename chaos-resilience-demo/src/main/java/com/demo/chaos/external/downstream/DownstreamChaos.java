@@ -0,0 +1,36 @@
+package com.demo.chaos.external.downstream;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Downstream bazlı kaos durumu.
+ *
+ * Chaos Monkey bean sınıfına göre saldırır; tüm downstream'ler aynı
+ * sınıf olduğu için tek bir downstream'i hedeflemek mümkün değildir.
+ * Bu yüzden gecikme/hata FakeDownstream içinde, isme göre buradan
+ * okunarak uygulanır (bkz. DemoController → /downstream/{name}/chaos).
+ */
+@Component
+public class DownstreamChaos {
+
+    private final Map<String, DownstreamFault> faults = new ConcurrentHashMap<>();
+
+    public DownstreamFault faultOf(String downstream) {
+        return faults.getOrDefault(downstream, DownstreamFault.NONE);
+    }
+
+    public void inject(String downstream, DownstreamFault fault) {
+        if (fault.isActive()) {
+            faults.put(downstream, fault);
+        } else {
+            faults.remove(downstream);
+        }
+    }
+
+    public void clear(String downstream) {
+        faults.remove(downstream);
+    }
+}
@@ -0,0 +1,25 @@
+package com.demo.chaos.external.downstream;
+
+/**
+ * Tek bir downstream'e hedeflenmiş kaos.
+ *
+ * @param latencyMs normal gecikmenin üzerine eklenen süre
+ * @param errorRate çağrıların bu oranı (0-1) hata ile döner
+ */
+public record DownstreamFault(long latencyMs, double errorRate) {
+
+    public static final DownstreamFault NONE = new DownstreamFault(0, 0);
+
+    public DownstreamFault {
+        if (latencyMs < 0) {
+            throw new IllegalArgumentException("latencyMs negatif olamaz: " + latencyMs);
+        }
+        if (errorRate < 0 || errorRate > 1) {
+            throw new IllegalArgumentException("errorRate 0-1 arası olmalı: " + errorRate);
+        }
+    }
+
+    public boolean isActive() {
+        return latencyMs > 0 || errorRate > 0;
+    }
+}
@@ -0,0 +1,42 @@
+package com.demo.chaos.external.downstream;
+
+import com.demo.chaos.concurrent.ScatterGather;
+import com.demo.chaos.json.JsonBody;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Yapılandırılmış downstream'ler, application.yml'deki sırayla.
+ */
+public final class Downstreams {
+
+    private final List<Downstream> downstreams;
+    private final List<ScatterGather.Branch<JsonBody>> branches;
+
+    public Downstreams(List<Downstream> downstreams) {
+        this.downstreams = List.copyOf(downstreams);
+        this.branches = this.downstreams.stream().map(Downstream::branch).toList();
+    }
+
+    public List<Downstream> all() {
+        return downstreams;
+    }
+
+    public Optional<Downstream> get(String name) {
+        return downstreams.stream().filter(d -> d.getName().equals(name)).findFirst();
+    }
+
+    public List<String> names() {
+        return downstreams.stream().map(Downstream::getName).toList();
+    }
+
+    /** Scatter-gather dalları; her çağrıda yeniden oluşturulmaz */
+    public List<ScatterGather.Branch<JsonBody>> branches() {
+        return branches;
+    }
+
+    public int size() {
+        return downstreams.size();
+    }
+}
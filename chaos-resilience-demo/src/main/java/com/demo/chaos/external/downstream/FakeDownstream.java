@@ -0,0 +1,100 @@
+package com.demo.chaos.external.downstream;
+
+import com.demo.chaos.deadline.Deadline;
+import com.demo.chaos.deadline.DeadlineExceededException;
+import com.demo.chaos.external.latency.LatencyModel;
+import com.demo.chaos.json.JsonBody;
+import com.demo.chaos.json.JsonTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sahte downstream servis (payment, inventory, fraud, shipping...).
+ *
+ * FakeExternalService.scheduleExternalApiCall() gibi gecikme timer ile
+ * simüle edilir; paralel çağrılar thread tutmaz. Hedeflenmiş kaos
+ * (DownstreamChaos) her çağrıda bir kez okunur. İsteğin kalan
+ * bütçesini aşan gecikme beklenmez (bkz. Deadline).
+ */
+public final class FakeDownstream {
+
+    private static final Logger log = LoggerFactory.getLogger(FakeDownstream.class);
+
+    private static final JsonTemplate RESPONSE = JsonTemplate.compile("""
+            {
+                "source": "%s",
+                "status": "SUCCESS",
+                "callNumber": %s,
+                "responseTime": "%sms"
+            }
+            """);
+
+    private final String name;
+    private final LatencyModel latencyModel;
+    private final ScheduledExecutorService latencyTimer;
+    private final DownstreamChaos chaos;
+    private final AtomicInteger callCount = new AtomicInteger(0);
+
+    public FakeDownstream(String name, LatencyModel latencyModel,
+                          ScheduledExecutorService latencyTimer, DownstreamChaos chaos) {
+        this.name = name;
+        this.latencyModel = latencyModel;
+        this.latencyTimer = latencyTimer;
+        this.chaos = chaos;
+    }
+
+    public CompletableFuture<JsonBody> call() {
+        int count = callCount.incrementAndGet();
+        long startTime = System.currentTimeMillis();
+
+        long budget = Deadline.budgetMillis();
+        if (budget <= 0) {
+            return CompletableFuture.failedFuture(new DeadlineExceededException(Deadline.STAGE_DOWNSTREAM));
+        }
+        DownstreamFault fault = chaos.faultOf(name);
+        long delay = latencyModel.nextDelayMillis() + fault.latencyMs();
+        boolean exceedsBudget = delay > budget;
+        boolean fail = fault.errorRate() > 0 && ThreadLocalRandom.current().nextDouble() < fault.errorRate();
+
+        log.debug("📡 [{}#{}] Downstream çağrısı başlıyor...", name, count);
+
+        CompletableFuture<JsonBody> response = new CompletableFuture<>();
+        ScheduledFuture<?> timer = latencyTimer.schedule(() -> {
+            long duration = System.currentTimeMillis() - startTime;
+            if (exceedsBudget) {
+                response.completeExceptionally(new DeadlineExceededException(Deadline.STAGE_DOWNSTREAM));
+            } else if (fail) {
+                response.completeExceptionally(new RuntimeException("Chaos - " + name + " hatası"));
+            } else if (response.complete(RESPONSE.render(name, count, duration))) {
+                log.debug("✅ [{}#{}] Downstream cevap verdi: {}ms", name, count, duration);
+            }
+        }, exceedsBudget ? budget : delay, TimeUnit.MILLISECONDS);
+
+        // Timeout/iptal: zamanlanmış cevap boşuna üretilmesin
+        response.whenComplete((result, error) -> {
+            if (error != null) {
+                timer.cancel(false);
+            }
+        });
+        return response;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LatencyModel getLatencyModel() {
+        return latencyModel;
+    }
+
+    public int getCallCount() {
+        return callCount.get();
+    }
+}
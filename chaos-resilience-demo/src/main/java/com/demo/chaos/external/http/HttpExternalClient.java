@@ -0,0 +1,197 @@
+package com.demo.chaos.external.http;
+
+import com.demo.chaos.config.ExternalServiceProperties;
+import com.demo.chaos.deadline.Deadline;
+import com.demo.chaos.deadline.DeadlineExceededException;
+import com.demo.chaos.deadline.DeadlineInterceptor;
+import com.demo.chaos.json.JsonBody;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.async.AsyncExecChainHandler;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.ChainElement;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Stub external sunucuya bağlantı havuzlu, keep-alive HTTP istemcisi
+ * (Apache HttpClient 5, async).
+ *
+ * Havuz sınırlıdır (toplam ve host başına); dolunca istek en fazla
+ * poolTimeoutMs bekler. Boşta kalan bağlantılar idleTimeoutMs sonra
+ * kapatılır. Otomatik retry ve redirect kapalıdır; retry korumalı
+ * yolun işidir (Retrier).
+ *
+ * Future iptal edilirse (timeout) HTTP exchange de iptal edilir; yarım
+ * kalan bağlantı havuza dönmez, kapatılır. Kaos sırasındaki bu
+ * bağlantı kaybı havuz metriklerinden izlenebilir:
+ * - external.http.pool.leased / pending / available / max
+ * - external.http.pool.wait: havuzdan bağlantı alma süresi (yeni
+ *   bağlantı gerekiyorsa TCP kurulumu dahil)
+ */
+public final class HttpExternalClient implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpExternalClient.class);
+
+    private static final String ACQUIRE_STARTED = HttpExternalClient.class.getName() + ".acquireStarted";
+
+    private final CloseableHttpAsyncClient client;
+    private final PoolingAsyncClientConnectionManager connectionManager;
+    private final URI paymentUri;
+
+    public HttpExternalClient(ExternalServiceProperties.Http properties, int port, MeterRegistry meterRegistry) {
+        this.paymentUri = URI.create("http://" + properties.getHost() + ":" + port + StubExternalServer.PAYMENT_PATH);
+
+        this.connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(properties.getConnectTimeoutMs()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(properties.getResponseTimeoutMs()))
+                        .build())
+                .build();
+
+        Timer poolWait = Timer.builder("external.http.pool.wait")
+                .description("Havuzdan bağlantı alma süresi (yeni bağlantı kurulumu dahil)")
+                .register(meterRegistry);
+        // CONNECT adımı bağlantıyı havuzdan kiralar (gerekirse açar); ardından MAIN_TRANSPORT gelir
+        AsyncExecChainHandler acquireStart = (request, entityProducer, scope, chain, callback) -> {
+            scope.clientContext.setAttribute(ACQUIRE_STARTED, System.nanoTime());
+            chain.proceed(request, entityProducer, scope, callback);
+        };
+        AsyncExecChainHandler acquireEnd = (request, entityProducer, scope, chain, callback) -> {
+            if (scope.clientContext.getAttribute(ACQUIRE_STARTED) instanceof Long startedAt) {
+                poolWait.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+            chain.proceed(request, entityProducer, scope, callback);
+        };
+
+        this.client = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(properties.getPoolTimeoutMs()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(properties.getResponseTimeoutMs()))
+                        .build())
+                .evictIdleConnections(TimeValue.ofMilliseconds(properties.getIdleTimeoutMs()))
+                .addExecInterceptorBefore(ChainElement.CONNECT.name(), "acquire-start", acquireStart)
+                .addExecInterceptorBefore(ChainElement.MAIN_TRANSPORT.name(), "acquire-end", acquireEnd)
+                .disableAutomaticRetries()
+                .disableRedirectHandling()
+                .build();
+        client.start();
+
+        registerPoolGauge(meterRegistry, "leased", PoolStats::getLeased);
+        registerPoolGauge(meterRegistry, "pending", PoolStats::getPending);
+        registerPoolGauge(meterRegistry, "available", PoolStats::getAvailable);
+        registerPoolGauge(meterRegistry, "max", PoolStats::getMax);
+
+        log.info("🔌 External HTTP istemcisi: {} (maxConnections={}, perRoute={}, poolTimeout={}ms, idle={}ms)",
+                paymentUri, properties.getMaxConnections(), properties.getMaxConnectionsPerRoute(),
+                properties.getPoolTimeoutMs(), properties.getIdleTimeoutMs());
+    }
+
+    /**
+     * Non-blocking çağrı. İsteğin kalan bütçesi X-Request-Timeout ile
+     * sunucuya iletilir. 504 → DeadlineExceededException, diğer 2xx
+     * dışı cevaplar → RuntimeException.
+     */
+    public CompletableFuture<JsonBody> call() {
+        long budget = Deadline.budgetMillis();
+        if (budget <= 0) {
+            return CompletableFuture.failedFuture(new DeadlineExceededException(Deadline.STAGE_EXTERNAL));
+        }
+        SimpleRequestBuilder builder = SimpleRequestBuilder.get(paymentUri);
+        if (budget != Long.MAX_VALUE) {
+            builder.setHeader(DeadlineInterceptor.TIMEOUT_HEADER, Long.toString(budget));
+        }
+        SimpleHttpRequest request = builder.build();
+
+        CompletableFuture<JsonBody> response = new CompletableFuture<>();
+        Future<SimpleHttpResponse> exchange = client.execute(request, new FutureCallback<>() {
+            @Override
+            public void completed(SimpleHttpResponse result) {
+                int status = result.getCode();
+                if (status == 200) {
+                    response.complete(JsonBody.of(result.getBodyBytes()));
+                } else if (status == 504) {
+                    response.completeExceptionally(new DeadlineExceededException(Deadline.STAGE_EXTERNAL));
+                } else {
+                    response.completeExceptionally(new RuntimeException(
+                            "External API HTTP " + status + ": " + result.getBodyText()));
+                }
+            }
+
+            @Override
+            public void failed(Exception e) {
+                response.completeExceptionally(e);
+            }
+
+            @Override
+            public void cancelled() {
+                response.cancel(false);
+            }
+        });
+
+        // Timeout/iptal: exchange'i de iptal et, bağlantı havuza yarım dönmesin
+        response.whenComplete((result, error) -> {
+            if (error != null) {
+                exchange.cancel(true);
+            }
+        });
+        return response;
+    }
+
+    /**
+     * Bloklayan çağrı (orderExecutor thread'inde). Interrupt edilirse
+     * (timeout) HTTP exchange iptal edilir.
+     */
+    public JsonBody callBlocking() {
+        CompletableFuture<JsonBody> response = call();
+        try {
+            return response.get();
+        } catch (InterruptedException e) {
+            response.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("External API HTTP çağrısı iptal edildi");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    private void registerPoolGauge(MeterRegistry registry, String state, ToDoubleFunction<PoolStats> value) {
+        Gauge.builder("external.http.pool." + state, connectionManager,
+                        manager -> value.applyAsDouble(manager.getTotalStats()))
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        client.close(CloseMode.GRACEFUL);
+    }
+}
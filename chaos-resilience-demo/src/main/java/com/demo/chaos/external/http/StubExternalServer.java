@@ -0,0 +1,137 @@
+package com.demo.chaos.external.http;
+
+import com.demo.chaos.deadline.Deadline;
+import com.demo.chaos.deadline.DeadlineExceededException;
+import com.demo.chaos.deadline.DeadlineInterceptor;
+import com.demo.chaos.external.FakeExternalService;
+import com.demo.chaos.json.JsonBody;
+import com.demo.chaos.json.JsonTemplate;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * FakeExternalService'i ayrı bir portta HTTP ile sunan hafif stub
+ * sunucu (JDK HttpServer, süreç içi).
+ *
+ * Cevap, gecikme modeli ve Chaos Monkey saldırıları aynen geçerlidir:
+ * her istek FakeExternalService'in (Spring proxy'si) bloklayan
+ * metoduna gider. Gerçek bir servis gibi sınırlı worker thread'i
+ * vardır; fazlası kuyrukta bekler. Keep-alive JDK sunucusunun
+ * varsayılanıdır.
+ *
+ * İstemci kalan bütçeyi X-Request-Timeout ile gönderirse sunucu
+ * tarafında da deadline bağlanır; süresi dolan istek 504 döner.
+ * Chaos Monkey exception'ı 500 olur.
+ */
+public final class StubExternalServer implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(StubExternalServer.class);
+
+    public static final String PAYMENT_PATH = "/api/payment";
+
+    private static final JsonTemplate ERROR_RESPONSE = JsonTemplate.compile("{\"error\": \"%s\"}");
+    private static final JsonTemplate DEADLINE_RESPONSE =
+            JsonTemplate.compile("{\"error\": \"Deadline exceeded\", \"stage\": \"%s\"}");
+
+    private final HttpServer server;
+    private final ExecutorService workers;
+    private final FakeExternalService externalService;
+
+    private StubExternalServer(HttpServer server, ExecutorService workers, FakeExternalService externalService) {
+        this.server = server;
+        this.workers = workers;
+        this.externalService = externalService;
+    }
+
+    public static StubExternalServer start(String host, int port, int threads, FakeExternalService externalService)
+            throws IOException {
+        AtomicInteger counter = new AtomicInteger(0);
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "stub-external-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        StubExternalServer stub = new StubExternalServer(server, workers, externalService);
+        server.createContext(PAYMENT_PATH, stub::handle);
+        server.setExecutor(workers);
+        server.start();
+
+        log.info("🧩 Stub external sunucu başladı: http://{}:{}{} ({} worker)",
+                host, server.getAddress().getPort(), PAYMENT_PATH, threads);
+        return stub;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        long arrivedAt = System.nanoTime();
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, ERROR_RESPONSE.render("Sadece GET"));
+                return;
+            }
+            Long timeoutMs = parse(exchange.getRequestHeaders().getFirst(DeadlineInterceptor.TIMEOUT_HEADER));
+            if (timeoutMs != null) {
+                Deadline.bind(Deadline.after(arrivedAt, timeoutMs));
+            }
+
+            JsonBody body;
+            try {
+                body = externalService.callExternalApi();
+            } catch (DeadlineExceededException e) {
+                send(exchange, 504, DEADLINE_RESPONSE.render(e.getStage()));
+                return;
+            } catch (RuntimeException e) {
+                log.debug("💥 Stub external 500: {}", e.getMessage());
+                send(exchange, 500, ERROR_RESPONSE.render(String.valueOf(e.getMessage()).replace("\"", "'")));
+                return;
+            }
+            send(exchange, 200, body);
+        } catch (IOException e) {
+            // İstemci vazgeçip bağlantıyı kapatmış (timeout/iptal)
+            log.debug("🔌 Stub external cevabı yazılamadı: {}", e.getMessage());
+        } finally {
+            Deadline.clear();
+            exchange.close();
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, JsonBody body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length());
+        try (OutputStream out = exchange.getResponseBody()) {
+            body.writeTo(out);
+        }
+    }
+
+    private static Long parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        workers.shutdownNow();
+        log.info("🧩 Stub external sunucu durdu");
+    }
+}
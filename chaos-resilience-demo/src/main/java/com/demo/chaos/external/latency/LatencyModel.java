@@ -0,0 +1,15 @@
+package com.demo.chaos.external.latency;
+
+/**
+ * Harici servis gecikme dağılımı.
+ *
+ * Her çağrı için bir sonraki gecikmeyi (ms) üretir.
+ * Implementasyonlar thread-safe olmalıdır.
+ */
+public interface LatencyModel {
+
+    long nextDelayMillis();
+
+    /** Status/log çıktıları için kısa açıklama */
+    String describe();
+}
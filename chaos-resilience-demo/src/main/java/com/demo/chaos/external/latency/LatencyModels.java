@@ -0,0 +1,155 @@
+package com.demo.chaos.external.latency;
+
+import com.demo.chaos.config.ExternalServiceProperties;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * Hazır gecikme dağılımları.
+ *
+ * Rastgele sayılar thread başına üreticiden gelir; paylaşılan tek bir
+ * Random'ın senkronize nextGaussian'ı eşzamanlı çağıranları sıraya
+ * sokardı. Seed verilirse her thread'in üreticisi seed'li kökten
+ * split edilir: tek thread'li bir deney aynı gecikme dizisini üretir,
+ * çok thread'lide dağılım aynı kalır ama sıra thread'lere göre değişir.
+ */
+public final class LatencyModels {
+
+    private LatencyModels() {
+    }
+
+    public static LatencyModel from(ExternalServiceProperties.Latency p) {
+        Supplier<RandomGenerator> random = randomSource(p.getSeed());
+        return switch (p.getType()) {
+            case FIXED -> fixed(p.getFixedMs());
+            case UNIFORM -> uniform(random, p.getMinMs(), p.getMaxMs());
+            case LOG_NORMAL -> capped(logNormal(random, p.getMedianMs(), p.getSigma()), p.getCapMs());
+            case BIMODAL -> capped(bimodal(random,
+                    logNormal(random, p.getMedianMs(), p.getSigma()),
+                    logNormal(random, p.getSlowMedianMs(), p.getSigma()),
+                    p.getSlowRatio()), p.getCapMs());
+            case PARETO -> capped(pareto(random, p.getScaleMs(), p.getShape()), p.getCapMs());
+        };
+    }
+
+    /** Thread başına üretici; seed null ise ThreadLocalRandom */
+    public static Supplier<RandomGenerator> randomSource(Long seed) {
+        if (seed == null) {
+            return ThreadLocalRandom::current;
+        }
+        SplittableRandom root = new SplittableRandom(seed);
+        // split() thread-safe değil; thread başına bir kez çağrılır
+        ThreadLocal<RandomGenerator> perThread = ThreadLocal.withInitial(() -> {
+            synchronized (root) {
+                return root.split();
+            }
+        });
+        return perThread::get;
+    }
+
+    public static LatencyModel fixed(long millis) {
+        return new LatencyModel() {
+            @Override
+            public long nextDelayMillis() {
+                return millis;
+            }
+
+            @Override
+            public String describe() {
+                return "fixed(" + millis + "ms)";
+            }
+        };
+    }
+
+    /**
+     * @throws IllegalArgumentException minMs > maxMs ise
+     */
+    public static LatencyModel uniform(Supplier<RandomGenerator> random, long minMs, long maxMs) {
+        if (minMs > maxMs) {
+            throw new IllegalArgumentException("Geçersiz uniform aralığı: " + minMs + "-" + maxMs + "ms");
+        }
+        return new LatencyModel() {
+            @Override
+            public long nextDelayMillis() {
+                return minMs + (long) (random.get().nextDouble() * (maxMs - minMs));
+            }
+
+            @Override
+            public String describe() {
+                return "uniform(" + minMs + "-" + maxMs + "ms)";
+            }
+        };
+    }
+
+    /**
+     * Log-normal: median * e^(sigma * N(0,1)).
+     * Gerçek servis gecikmelerine en yakın basit model.
+     */
+    public static LatencyModel logNormal(Supplier<RandomGenerator> random, long medianMs, double sigma) {
+        return new LatencyModel() {
+            @Override
+            public long nextDelayMillis() {
+                return Math.round(medianMs * Math.exp(sigma * random.get().nextGaussian()));
+            }
+
+            @Override
+            public String describe() {
+                return "logNormal(median=" + medianMs + "ms, sigma=" + sigma + ")";
+            }
+        };
+    }
+
+    /**
+     * Çoğu çağrı hızlı moddan, slowRatio oranında çağrı yavaş moddan gelir
+     * (ör. cache miss, GC pause, yeniden bağlanma).
+     */
+    public static LatencyModel bimodal(Supplier<RandomGenerator> random, LatencyModel fast, LatencyModel slow, double slowRatio) {
+        return new LatencyModel() {
+            @Override
+            public long nextDelayMillis() {
+                return random.get().nextDouble() < slowRatio ? slow.nextDelayMillis() : fast.nextDelayMillis();
+            }
+
+            @Override
+            public String describe() {
+                return "bimodal(" + fast.describe() + ", " + slow.describe() + ", slowRatio=" + slowRatio + ")";
+            }
+        };
+    }
+
+    /**
+     * Pareto kuyruğu: scale / U^(1/shape).
+     * shape ≤ 2 iken varyans sonsuzdur; p99.9 median'dan çok uzaktır.
+     */
+    public static LatencyModel pareto(Supplier<RandomGenerator> random, long scaleMs, double shape) {
+        return new LatencyModel() {
+            @Override
+            public long nextDelayMillis() {
+                double u = 1.0 - random.get().nextDouble(); // (0, 1]
+                return Math.round(scaleMs / Math.pow(u, 1.0 / shape));
+            }
+
+            @Override
+            public String describe() {
+                return "pareto(scale=" + scaleMs + "ms, shape=" + shape + ")";
+            }
+        };
+    }
+
+    public static LatencyModel capped(LatencyModel model, long capMs) {
+        return new LatencyModel() {
+            @Override
+            public long nextDelayMillis() {
+                return Math.max(0, Math.min(capMs, model.nextDelayMillis()));
+            }
+
+            @Override
+            public String describe() {
+                return model.describe();
+            }
+        };
+    }
+}
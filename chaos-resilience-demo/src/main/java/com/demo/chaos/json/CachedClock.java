@@ -0,0 +1,46 @@
+package com.demo.chaos.json;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * ISO_LOCAL_DATE_TIME zaman damgasını milisaniyede en fazla bir kez
+ * formatlayan saat.
+ *
+ * Her response için LocalDateTime.now().format(...) yerine kullanılır;
+ * aynı milisaniyedeki tüm çağrılar aynı önceden encode edilmiş byte'ları
+ * paylaşır. Hassasiyet milisaniyedir.
+ */
+public final class CachedClock {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private static volatile Tick tick = new Tick(Long.MIN_VALUE, new byte[0]);
+
+    private CachedClock() {
+    }
+
+    /**
+     * Şu anki zaman, ISO_LOCAL_DATE_TIME formatında UTF-8 byte'lar.
+     * Dönen dizi paylaşılır; değiştirilmemelidir.
+     */
+    public static byte[] isoLocalDateTime() {
+        long now = System.currentTimeMillis();
+        Tick current = tick;
+        if (current.millis == now) {
+            return current.bytes;
+        }
+        // Yarış halinde iki thread aynı değeri üretir; zararsız
+        byte[] bytes = LocalDateTime.ofInstant(Instant.ofEpochMilli(now), ZONE)
+                .format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+                .getBytes(StandardCharsets.UTF_8);
+        tick = new Tick(now, bytes);
+        return bytes;
+    }
+
+    private record Tick(long millis, byte[] bytes) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.demo.chaos.json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Önceden render edilmiş (UTF-8) JSON gövdesi.
+ *
+ * String'e çevrilmeden doğrudan response output stream'ine yazılır
+ * (bkz. JsonBodyHttpMessageConverter). Başka bir gövdeye gömülürken
+ * byte'lar kopyalanmadan aktarılır.
+ */
+public interface JsonBody {
+
+    /** Hazır UTF-8 JSON; dizi kopyalanmadan sarılır */
+    static JsonBody of(byte[] utf8) {
+        return new RawJsonBody(utf8, utf8.length);
+    }
+
+    /** UTF-8 byte uzunluğu (Content-Length) */
+    int length();
+
+    void writeTo(OutputStream out) throws IOException;
+
+    /**
+     * Sondaki boşluklar atılmış hâli; eski String.trim() gömme
+     * davranışının byte karşılığı.
+     */
+    JsonBody trimmed();
+
+    /** Gövdenin UTF-8 byte'ları; tek kopya (ör. outbox kaydı) */
+    default byte[] toByteArray() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length());
+        try {
+            writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /** Log ve debug için; sıcak yolda kullanılmamalı */
+    default String asString() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length());
+        try {
+            writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,55 @@
+package com.demo.chaos.json;
+
+import com.demo.chaos.metrics.StageMetrics;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * JsonBody'yi ara String/byte[] kopyası olmadan doğrudan servlet
+ * output stream'ine yazar. Content-Length render sırasında hesaplanmıştır.
+ * Yazma süresi SERIALIZATION aşaması olarak ölçülür.
+ */
+public class JsonBodyHttpMessageConverter extends AbstractHttpMessageConverter<JsonBody> {
+
+    private final StageMetrics stageMetrics;
+
+    public JsonBodyHttpMessageConverter(StageMetrics stageMetrics) {
+        super(MediaType.APPLICATION_JSON, MediaType.ALL);
+        this.stageMetrics = stageMetrics;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return JsonBody.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected JsonBody readInternal(Class<? extends JsonBody> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("JsonBody sadece yazılabilir", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(JsonBody body, MediaType contentType) {
+        return (long) body.length();
+    }
+
+    @Override
+    protected void writeInternal(JsonBody body, HttpOutputMessage outputMessage) throws IOException {
+        StageMetrics.Sample sample = stageMetrics.start(StageMetrics.Stage.SERIALIZATION);
+        try {
+            body.writeTo(outputMessage.getBody());
+        } finally {
+            sample.stop();
+        }
+    }
+}
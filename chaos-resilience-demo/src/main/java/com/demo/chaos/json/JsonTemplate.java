@@ -0,0 +1,183 @@
+package com.demo.chaos.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Önceden UTF-8'e encode edilmiş JSON şablonu.
+ *
+ * Şablondaki her "%s" bir değer yuvasıdır. Sabit kısımlar bir kez
+ * encode edilir; render() Formatter/StringBuilder kullanmaz, sadece
+ * değerleri tutan küçük bir JsonBody döndürür. Byte'lar ancak
+ * writeTo() sırasında, doğrudan hedef stream'e yazılır.
+ *
+ * Desteklenen değerler: Long/Integer, Boolean, String, byte[]
+ * (önceden encode edilmiş), JsonBody (olduğu gibi gömülür).
+ * String değerler JSON-escape edilmez ve null "null" yazılır; eski
+ * String.format davranışı korunur.
+ */
+public final class JsonTemplate {
+
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+    /** Derlenen metin; String.format karşılaştırmaları için (bkz. ResponseRenderingBenchmark) */
+    private final String source;
+    private final byte[][] literals;
+    private final int literalLength;
+    /** Son sabit parçanın sondaki boşluklar atılmış uzunluğu */
+    private final int trimmedLastLength;
+
+    private JsonTemplate(String source, byte[][] literals) {
+        this.source = source;
+        this.literals = literals;
+        int total = 0;
+        for (byte[] literal : literals) {
+            total += literal.length;
+        }
+        this.literalLength = total;
+
+        byte[] last = literals[literals.length - 1];
+        int end = last.length;
+        while (end > 0 && last[end - 1] <= ' ') {
+            end--;
+        }
+        this.trimmedLastLength = end;
+    }
+
+    public static JsonTemplate compile(String template) {
+        List<byte[]> parts = new ArrayList<>();
+        int start = 0;
+        int slot;
+        while ((slot = template.indexOf("%s", start)) >= 0) {
+            parts.add(template.substring(start, slot).getBytes(StandardCharsets.UTF_8));
+            start = slot + 2;
+        }
+        parts.add(template.substring(start).getBytes(StandardCharsets.UTF_8));
+        return new JsonTemplate(template, parts.toArray(new byte[0][]));
+    }
+
+    /** Şablonun derlendiği metin; yuvalar "%s" olduğu için String.format ile de doldurulabilir */
+    public String source() {
+        return source;
+    }
+
+    /**
+     * Değerleri şablona bağlar. values dizisi yerinde normalize edilir
+     * (String/Boolean → byte[]) ve dönen gövde tarafından tutulur.
+     */
+    public JsonBody render(Object... values) {
+        if (values.length != literals.length - 1) {
+            throw new IllegalArgumentException(
+                    "Şablon " + (literals.length - 1) + " değer bekliyor, " + values.length + " verildi");
+        }
+
+        int length = literalLength;
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value == null) {
+                values[i] = NULL;
+                length += NULL.length;
+            } else if (value instanceof Long || value instanceof Integer) {
+                length += digits(((Number) value).longValue());
+            } else if (value instanceof Boolean bool) {
+                values[i] = bool ? TRUE : FALSE;
+                length += ((byte[]) values[i]).length;
+            } else if (value instanceof String string) {
+                values[i] = string.getBytes(StandardCharsets.UTF_8);
+                length += ((byte[]) values[i]).length;
+            } else if (value instanceof byte[] bytes) {
+                length += bytes.length;
+            } else if (value instanceof JsonBody body) {
+                length += body.length();
+            } else {
+                throw new IllegalArgumentException("Desteklenmeyen şablon değeri: " + value);
+            }
+        }
+        return new Rendered(values, length, false);
+    }
+
+    private final class Rendered implements JsonBody {
+
+        private final Object[] values;
+        private final int length;
+        private final boolean trim;
+
+        Rendered(Object[] values, int length, boolean trim) {
+            this.values = values;
+            this.length = length;
+            this.trim = trim;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                out.write(literals[i]);
+                Object value = values[i];
+                if (value instanceof byte[] bytes) {
+                    out.write(bytes);
+                } else if (value instanceof JsonBody body) {
+                    body.writeTo(out);
+                } else {
+                    writeLong(out, ((Number) value).longValue());
+                }
+            }
+            out.write(literals[literals.length - 1], 0,
+                    trim ? trimmedLastLength : literals[literals.length - 1].length);
+        }
+
+        @Override
+        public JsonBody trimmed() {
+            if (trim) {
+                return this;
+            }
+            int lastLength = literals[literals.length - 1].length;
+            return new Rendered(values, length - (lastLength - trimmedLastLength), true);
+        }
+
+        @Override
+        public String toString() {
+            return asString();
+        }
+    }
+
+    private static int digits(long value) {
+        if (value == Long.MIN_VALUE) {
+            return 20;
+        }
+        int digits = value < 0 ? 2 : 1;
+        long remaining = Math.abs(value);
+        while (remaining >= 10) {
+            remaining /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private static void writeLong(OutputStream out, long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            out.write(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        byte[] buffer = new byte[20];
+        int pos = buffer.length;
+        long remaining = Math.abs(value);
+        do {
+            buffer[--pos] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining != 0);
+        if (value < 0) {
+            buffer[--pos] = '-';
+        }
+        out.write(buffer, pos, buffer.length - pos);
+    }
+}
@@ -0,0 +1,43 @@
+package com.demo.chaos.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Dışarıdan hazır gelmiş (ör. HTTP cevabı) UTF-8 JSON byte'ları.
+ * Dizi kopyalanmaz; değiştirilmemelidir.
+ */
+final class RawJsonBody implements JsonBody {
+
+    private final byte[] bytes;
+    private final int length;
+
+    RawJsonBody(byte[] bytes, int length) {
+        this.bytes = bytes;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(bytes, 0, length);
+    }
+
+    @Override
+    public JsonBody trimmed() {
+        int end = length;
+        while (end > 0 && bytes[end - 1] <= ' ') {
+            end--;
+        }
+        return end == length ? this : new RawJsonBody(bytes, end);
+    }
+
+    @Override
+    public String toString() {
+        return asString();
+    }
+}
@@ -0,0 +1,100 @@
+package com.demo.chaos.load;
+
+import com.demo.chaos.config.LoadProperties;
+import org.springframework.core.env.Environment;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Uygulamanın kendi endpoint'lerine open-loop yük üretir.
+ *
+ * İstekler paylaşılan, non-blocking bir HttpClient ile gönderilir;
+ * cevaplar birkaç thread'lik küçük bir havuzda işlenir. Aynı anda
+ * tek çalıştırma olabilir; son çalıştırma raporu için saklanır.
+ */
+public class LoadGenerator implements AutoCloseable {
+
+    private final LoadProperties properties;
+    private final Environment environment;
+    private final ExecutorService clientExecutor;
+    private final HttpClient client;
+    private final AtomicLong runIds = new AtomicLong();
+    private final AtomicReference<LoadRun> lastRun = new AtomicReference<>();
+
+    public LoadGenerator(LoadProperties properties, Environment environment) {
+        this.properties = properties;
+        this.environment = environment;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.clientExecutor = Executors.newFixedThreadPool(properties.getClientThreads(), r -> {
+            Thread thread = new Thread(r, "load-client-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(clientExecutor)
+                .build();
+    }
+
+    /**
+     * @throws IllegalArgumentException plan geçersizse
+     * @throws IllegalStateException    başka bir çalıştırma sürüyorsa
+     */
+    public LoadRun start(LoadPlan plan) {
+        plan.validate(properties);
+
+        LoadRun previous = lastRun.get();
+        if (previous != null && previous.getState() == LoadRun.State.RUNNING) {
+            throw new IllegalStateException("Yük #" + previous.getId() + " hâlâ çalışıyor");
+        }
+
+        LoadRun run = new LoadRun(
+                runIds.incrementAndGet(),
+                plan,
+                client,
+                URI.create("http://localhost:" + serverPort()),
+                Duration.ofMillis(properties.getRequestTimeoutMs()),
+                properties.getMaxInFlight());
+        if (!lastRun.compareAndSet(previous, run)) {
+            throw new IllegalStateException("Başka bir yük aynı anda başlatıldı");
+        }
+        run.start();
+        return run;
+    }
+
+    public Optional<LoadRun> lastRun() {
+        return Optional.ofNullable(lastRun.get());
+    }
+
+    /** @return durdurulan çalıştırma, çalışan yoksa boş */
+    public Optional<LoadRun> stop() {
+        LoadRun run = lastRun.get();
+        if (run == null || run.getState() != LoadRun.State.RUNNING) {
+            return Optional.empty();
+        }
+        run.stop();
+        return Optional.of(run);
+    }
+
+    /** local.server.port web sunucusu başladıktan sonra bilinir */
+    private int serverPort() {
+        return environment.getProperty("local.server.port", Integer.class,
+                environment.getProperty("server.port", Integer.class, 8080));
+    }
+
+    @Override
+    public void close() {
+        stop();
+        clientExecutor.shutdownNow();
+    }
+}
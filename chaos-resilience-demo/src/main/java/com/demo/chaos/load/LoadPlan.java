@@ -0,0 +1,105 @@
+package com.demo.chaos.load;
+
+import com.demo.chaos.config.LoadProperties;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Yük planı: hedef endpoint, rampa aşamaları ve senaryo geçişleri.
+ *
+ * Örnek:
+ * <pre>
+ * {
+ *   "target": "order",
+ *   "stages": [
+ *     {"durationSec": 10, "startRps": 5,  "endRps": 50},
+ *     {"durationSec": 30, "startRps": 50, "endRps": 50}
+ *   ],
+ *   "scenarioSwitches": [{"atSec": 15, "scenario": 2}]
+ * }
+ * </pre>
+ *
+ * @param target           order | async | protected | protected-blocking | orchestrated
+ * @param stages           sırayla uygulanır; rate aşama içinde doğrusal değişir
+ * @param scenarioSwitches atSec anında /api/demo/scenario/{scenario} çağrılır
+ */
+public record LoadPlan(String target, List<Stage> stages, List<ScenarioSwitch> scenarioSwitches) {
+
+    private static final Map<String, String> TARGETS = Map.of(
+            "order", "/api/order",
+            "async", "/api/order/async",
+            "protected", "/api/order/protected",
+            "protected-blocking", "/api/order/protected/blocking",
+            "orchestrated", "/api/order/orchestrated");
+
+    public record Stage(double durationSec, double startRps, double endRps) {
+    }
+
+    public record ScenarioSwitch(double atSec, int scenario) {
+    }
+
+    public LoadPlan {
+        target = target == null ? "order" : target;
+        stages = stages == null ? List.of() : List.copyOf(stages);
+        scenarioSwitches = scenarioSwitches == null ? List.of()
+                : scenarioSwitches.stream()
+                        .sorted(Comparator.comparingDouble(ScenarioSwitch::atSec))
+                        .toList();
+    }
+
+    /**
+     * @throws IllegalArgumentException plan geçersiz veya sınırları aşıyorsa
+     */
+    public void validate(LoadProperties limits) {
+        if (!TARGETS.containsKey(target)) {
+            throw new IllegalArgumentException("Geçersiz target: " + target + ", geçerli: " + TARGETS.keySet());
+        }
+        if (stages.isEmpty()) {
+            throw new IllegalArgumentException("En az bir stage gerekli");
+        }
+        for (Stage stage : stages) {
+            if (stage.durationSec() <= 0 || stage.startRps() < 0 || stage.endRps() < 0) {
+                throw new IllegalArgumentException("Geçersiz stage: " + stage);
+            }
+            if (Math.max(stage.startRps(), stage.endRps()) > limits.getMaxRps()) {
+                throw new IllegalArgumentException("Rate sınırı aşıldı: en fazla " + limits.getMaxRps() + " rps");
+            }
+        }
+        if (durationSec() > limits.getMaxDurationSec()) {
+            throw new IllegalArgumentException("Süre sınırı aşıldı: en fazla " + limits.getMaxDurationSec() + " sn");
+        }
+        for (ScenarioSwitch change : scenarioSwitches) {
+            if (change.atSec() < 0 || change.scenario() < 1 || change.scenario() > 4) {
+                throw new IllegalArgumentException("Geçersiz senaryo geçişi: " + change);
+            }
+        }
+    }
+
+    public String path() {
+        return TARGETS.get(target);
+    }
+
+    public double durationSec() {
+        double total = 0;
+        for (Stage stage : stages) {
+            total += stage.durationSec();
+        }
+        return total;
+    }
+
+    /** Planın başından t saniye sonraki hedef rate (istek/sn) */
+    public double rateAt(double t) {
+        double stageStart = 0;
+        for (Stage stage : stages) {
+            double stageEnd = stageStart + stage.durationSec();
+            if (t < stageEnd) {
+                double progress = (t - stageStart) / stage.durationSec();
+                return stage.startRps() + (stage.endRps() - stage.startRps()) * progress;
+            }
+            stageStart = stageEnd;
+        }
+        return 0;
+    }
+}
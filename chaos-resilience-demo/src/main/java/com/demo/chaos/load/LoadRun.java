@@ -0,0 +1,352 @@
+package com.demo.chaos.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Tek bir open-loop yük çalıştırması.
+ *
+ * Dispatcher thread'i her isteğin planlanan gönderim anını rate
+ * planından hesaplar ve o anda, önceki isteklerin cevabını beklemeden
+ * gönderir. Gecikme planlanan andan itibaren ölçülür; böylece sunucu
+ * tıkandığında dispatcher geride kalsa bile bekleme süresi sonuca
+ * yansır (coordinated omission düzeltmesi). Gönderimden itibaren
+ * ölçülen "serviceTime" karşılaştırma için ayrıca raporlanır.
+ *
+ * maxInFlight dolduğu için atılmayan istekler de "latency"ye girer:
+ * en az requestTimeout, dispatcher daha da geride kaldıysa planlanan
+ * andan itibaren geçen süre. Aksi halde en yavaş istekler yüzdeliklerden
+ * sessizce düşer. Sadece cevaplanan istekler "completedLatency"dedir.
+ *
+ * Her senaryo geçişi yeni bir faz başlatır; rapor faz bazlıdır.
+ */
+public final class LoadRun {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadRun.class);
+
+    public enum State { RUNNING, COMPLETED, STOPPED }
+
+    /** Rate 0 iken planın ilerletildiği adım */
+    private static final double IDLE_STEP_SEC = 0.01;
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final long id;
+    private final LoadPlan plan;
+    private final HttpClient client;
+    private final URI baseUri;
+    private final HttpRequest request;
+    private final Duration requestTimeout;
+    private final int maxInFlight;
+
+    private final List<Phase> phases = new CopyOnWriteArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Thread dispatcher;
+
+    private volatile Phase currentPhase;
+    private volatile State state = State.RUNNING;
+    private volatile boolean stopRequested;
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    LoadRun(long id, LoadPlan plan, HttpClient client, URI baseUri, Duration requestTimeout, int maxInFlight) {
+        this.id = id;
+        this.plan = plan;
+        this.client = client;
+        this.baseUri = baseUri;
+        this.requestTimeout = requestTimeout;
+        this.maxInFlight = maxInFlight;
+        this.request = HttpRequest.newBuilder(baseUri.resolve(plan.path()))
+                .timeout(requestTimeout)
+                .GET()
+                .build();
+        this.dispatcher = new Thread(this::run, "load-dispatcher-" + id);
+        this.dispatcher.setDaemon(true);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    void start() {
+        startNanos = System.nanoTime();
+        startPhase(null, 0);
+        dispatcher.start();
+    }
+
+    void stop() {
+        stopRequested = true;
+        LockSupport.unpark(dispatcher);
+    }
+
+    private void run() {
+        log.info("🚀 Yük #{} başladı: {} → {}, {} sn", id, plan.target(), plan.path(), plan.durationSec());
+        try {
+            dispatch();
+            drain();
+        } catch (RuntimeException e) {
+            log.error("Yük #{} beklenmedik şekilde durdu", id, e);
+        } finally {
+            endNanos = System.nanoTime();
+            state = stopRequested ? State.STOPPED : State.COMPLETED;
+            log.info("🏁 Yük #{} bitti: {}", id, state);
+        }
+    }
+
+    private void dispatch() {
+        double duration = plan.durationSec();
+        List<LoadPlan.ScenarioSwitch> switches = plan.scenarioSwitches();
+        int nextSwitch = 0;
+        double t = 0;
+
+        while (t < duration && !stopRequested) {
+            while (nextSwitch < switches.size() && switches.get(nextSwitch).atSec() <= t) {
+                LoadPlan.ScenarioSwitch change = switches.get(nextSwitch++);
+                if (!waitUntil(startNanos + toNanos(change.atSec()))) {
+                    return;
+                }
+                switchScenario(change);
+            }
+
+            double rate = plan.rateAt(t);
+            if (rate <= 0) {
+                t += IDLE_STEP_SEC;
+                continue;
+            }
+
+            long intendedAt = startNanos + toNanos(t);
+            if (!waitUntil(intendedAt)) {
+                return;
+            }
+            fire(intendedAt);
+            t += 1.0 / rate;
+        }
+    }
+
+    /** Dispatcher geride kalmışsa beklemez; planlanan an korunur */
+    private boolean waitUntil(long deadline) {
+        long remaining;
+        while (!stopRequested && (remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+        return !stopRequested;
+    }
+
+    private void fire(long intendedAt) {
+        Phase phase = currentPhase;
+        phase.scheduled.increment();
+        if (inFlight.get() >= maxInFlight) {
+            phase.drop(intendedAt, System.nanoTime(), requestTimeout);
+            return;
+        }
+
+        inFlight.incrementAndGet();
+        long sentAt = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+                    inFlight.decrementAndGet();
+                    phase.record(intendedAt, sentAt, System.nanoTime(), response, error);
+                });
+    }
+
+    private void switchScenario(LoadPlan.ScenarioSwitch change) {
+        log.info("🎬 Yük #{}: {}. sn'de senaryo {}", id, change.atSec(), change.scenario());
+        startPhase(change.scenario(), change.atSec());
+
+        // Asenkron: sunucu tıkalıyken dispatcher'ı bloklamasın
+        HttpRequest scenarioRequest = HttpRequest.newBuilder(
+                        baseUri.resolve("/api/demo/scenario/" + change.scenario()))
+                .timeout(requestTimeout)
+                .GET()
+                .build();
+        client.sendAsync(scenarioRequest, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (error != null || response.statusCode() != 200) {
+                        log.warn("Yük #{}: senaryo {} uygulanamadı: {}", id, change.scenario(),
+                                error != null ? error.toString() : "HTTP " + response.statusCode());
+                    }
+                });
+    }
+
+    private void startPhase(Integer scenario, double fromSec) {
+        Phase phase = new Phase(scenario, fromSec);
+        phases.add(phase);
+        currentPhase = phase;
+    }
+
+    /** Gönderim bitti; cevabı beklenenler timeout süresine kadar beklenir */
+    private void drain() {
+        long deadline = System.nanoTime() + requestTimeout.toNanos();
+        while (inFlight.get() > 0 && !stopRequested && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+        }
+    }
+
+    private static long toNanos(double seconds) {
+        return (long) (seconds * 1_000_000_000L);
+    }
+
+    /**
+     * JSON rapor. Çalışma sürerken de çağrılabilir (o ana kadarki sonuç).
+     */
+    public String report() {
+        long end = state == State.RUNNING ? System.nanoTime() : endNanos;
+        double elapsedSec = (end - startNanos) / 1e9;
+
+        Phase total = new Phase(null, 0);
+        List<String> phaseReports = new ArrayList<>(phases.size());
+        for (int i = 0; i < phases.size(); i++) {
+            Phase phase = phases.get(i);
+            double until = i + 1 < phases.size() ? phases.get(i + 1).fromSec : elapsedSec;
+            phaseReports.add(phase.report(Math.max(until - phase.fromSec, 0)));
+            total.addAll(phase);
+        }
+
+        return String.format(Locale.ROOT, """
+                {
+                    "runId": %d,
+                    "state": "%s",
+                    "target": "%s",
+                    "plannedDurationSec": %.1f,
+                    "elapsedSec": %.1f,
+                    "inFlight": %d,
+                    "total": %s,
+                    "phases": [%s]
+                }
+                """,
+                id,
+                state,
+                plan.path(),
+                plan.durationSec(),
+                elapsedSec,
+                inFlight.get(),
+                total.report(elapsedSec),
+                String.join(", ", phaseReports));
+    }
+
+    /**
+     * Bir senaryo dönemi. Sayaçlar ve histogramlar cevap thread'lerinden
+     * eşzamanlı güncellenir; histogram birimi mikrosaniyedir.
+     */
+    private static final class Phase {
+
+        private final Integer scenario;
+        private final double fromSec;
+
+        private final LongAdder scheduled = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder fallbacks = new LongAdder();
+        /** Cevaplanan + atılmayan istekler */
+        private final Histogram latency = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        /** Sadece cevaplanan istekler */
+        private final Histogram completedLatency = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final Histogram serviceTime = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+
+        Phase(Integer scenario, double fromSec) {
+            this.scenario = scenario;
+            this.fromSec = fromSec;
+        }
+
+        void record(long intendedAt, long sentAt, long completedAt, HttpResponse<String> response, Throwable error) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(completedAt - intendedAt);
+            latency.recordValue(micros);
+            completedLatency.recordValue(micros);
+            serviceTime.recordValue(TimeUnit.NANOSECONDS.toMicros(completedAt - sentAt));
+            completed.increment();
+
+            if (error != null || response.statusCode() >= 400) {
+                errors.increment();
+            } else if (isFallback(response.body())) {
+                fallbacks.increment();
+            }
+        }
+
+        /** Atılmayan istek en az timeout kadar beklemiş sayılır */
+        void drop(long intendedAt, long droppedAt, Duration requestTimeout) {
+            latency.recordValue(TimeUnit.NANOSECONDS.toMicros(
+                    Math.max(requestTimeout.toNanos(), droppedAt - intendedAt)));
+            dropped.increment();
+        }
+
+        private static boolean isFallback(String body) {
+            return body.contains("\"DEGRADED\"") || body.contains("\"stale\": true");
+        }
+
+        void addAll(Phase other) {
+            scheduled.add(other.scheduled.sum());
+            dropped.add(other.dropped.sum());
+            completed.add(other.completed.sum());
+            errors.add(other.errors.sum());
+            fallbacks.add(other.fallbacks.sum());
+            latency.add(other.latency.copy());
+            completedLatency.add(other.completedLatency.copy());
+            serviceTime.add(other.serviceTime.copy());
+        }
+
+        String report(double durationSec) {
+            long done = completed.sum();
+            long failed = errors.sum() + dropped.sum();
+            long attempted = done + dropped.sum();
+            return String.format(Locale.ROOT, """
+                    {
+                            "scenario": %s,
+                            "fromSec": %.1f,
+                            "scheduled": %d,
+                            "completed": %d,
+                            "dropped": %d,
+                            "errors": %d,
+                            "fallbacks": %d,
+                            "throughputRps": %.1f,
+                            "errorRatio": %.4f,
+                            "fallbackRatio": %.4f,
+                            "latencyMs": %s,
+                            "completedLatencyMs": %s,
+                            "serviceTimeMs": %s
+                        }""",
+                    scenario,
+                    fromSec,
+                    scheduled.sum(),
+                    done,
+                    dropped.sum(),
+                    errors.sum(),
+                    fallbacks.sum(),
+                    durationSec > 0 ? done / durationSec : 0,
+                    attempted > 0 ? (double) failed / attempted : 0,
+                    done > 0 ? (double) fallbacks.sum() / done : 0,
+                    percentiles(latency.copy()),
+                    percentiles(completedLatency.copy()),
+                    percentiles(serviceTime.copy()));
+        }
+
+        private static String percentiles(Histogram histogram) {
+            return String.format(Locale.ROOT,
+                    "{\"p50\": %.1f, \"p90\": %.1f, \"p99\": %.1f, \"p999\": %.1f, \"max\": %.1f}",
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(90) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0);
+        }
+    }
+}
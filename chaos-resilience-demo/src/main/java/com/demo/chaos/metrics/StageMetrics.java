@@ -0,0 +1,187 @@
+package com.demo.chaos.metrics;
+
+import com.demo.chaos.scenario.ScenarioState;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Sipariş yolunun aşama bazlı gecikme ölçümü.
+ *
+ * Tüm ölçümler System.nanoTime ile alınır ve tek bir timer'a
+ * (order.stage.latency) stage, endpoint, scenario ve circuitBreaker
+ * tag'leriyle yazılır. Percentile ve kayan pencere ayarları
+ * application.yml → management.metrics.distribution altındadır.
+ *
+ * Endpoint, request thread'inde StageMetricsInterceptor tarafından
+ * bağlanır ve onExecutor() ile executor thread'ine taşınır; bağlanmamış
+ * thread'lerde (ör. TimeLimiter scheduler'ı) "none" yazılır.
+ *
+ * Tag değerleri bir kez, Locale.ROOT ile küçük harfe çevrilir (tr_TR'de
+ * "serialization" → "serıalızatıon" olmasın). Timer araması endpoint →
+ * senaryo → [aşama × devre durumu] dizisidir; start() nesne üretmez.
+ */
+@Component
+public class StageMetrics {
+
+    public static final String METRIC = "order.stage.latency";
+
+    public enum Stage {
+        /** Controller'a girişten cevabın hazır olmasına kadar */
+        REQUEST,
+        /** orderExecutor kuyruğunda worker bekleme */
+        QUEUE,
+        /** orderExecutor worker'ını meşgul etme süresi */
+        EXECUTOR,
+        /** External çağrı (Chaos Monkey gecikmesi dahil) */
+        EXTERNAL,
+        /** Fallback cevabının üretilmesi */
+        FALLBACK,
+        /** JsonBody'nin output stream'e yazılması */
+        SERIALIZATION;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private static final String NONE = "none";
+    private static final CircuitBreaker.State[] CIRCUIT_BREAKER_STATES = CircuitBreaker.State.values();
+    private static final String[] CIRCUIT_BREAKER_TAGS = new String[CIRCUIT_BREAKER_STATES.length];
+    private static final int SLOTS = Stage.values().length * CIRCUIT_BREAKER_STATES.length;
+
+    static {
+        for (CircuitBreaker.State state : CIRCUIT_BREAKER_STATES) {
+            CIRCUIT_BREAKER_TAGS[state.ordinal()] = state.name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final ThreadLocal<String> ENDPOINT = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final ScenarioState scenarioState;
+    /** endpoint → senaryo → [aşama × devre durumu] */
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, AtomicReferenceArray<Timer>>> timers =
+            new ConcurrentHashMap<>();
+
+    private volatile CircuitBreaker circuitBreaker;
+
+    public StageMetrics(MeterRegistry meterRegistry, CircuitBreakerRegistry circuitBreakerRegistry,
+                        ScenarioState scenarioState) {
+        this.meterRegistry = meterRegistry;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.scenarioState = scenarioState;
+    }
+
+    public static void bindEndpoint(String endpoint) {
+        ENDPOINT.set(endpoint);
+    }
+
+    public static void clearEndpoint() {
+        ENDPOINT.remove();
+    }
+
+    /** Tag'ler başlangıç anındaki duruma göre sabitlenir */
+    public Sample start(Stage stage) {
+        return new Sample(timer(stage, currentEndpoint()), System.nanoTime());
+    }
+
+    /** İşi çalıştırır ve süresini verilen aşamaya yazar */
+    public <T> T record(Stage stage, Supplier<T> work) {
+        Sample sample = start(stage);
+        try {
+            return work.get();
+        } finally {
+            sample.stop();
+        }
+    }
+
+    /**
+     * Executor'a verilecek işi sarar: kuyrukta geçen süreyi QUEUE,
+     * çalışma süresini EXECUTOR olarak kaydeder ve endpoint'i taşır.
+     */
+    public <T> Supplier<T> onExecutor(Supplier<T> task) {
+        String endpoint = currentEndpoint();
+        Timer queue = timer(Stage.QUEUE, endpoint);
+        Timer executor = timer(Stage.EXECUTOR, endpoint);
+        long submittedAt = System.nanoTime();
+
+        return () -> {
+            long startedAt = System.nanoTime();
+            queue.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+            String previous = ENDPOINT.get();
+            ENDPOINT.set(endpoint);
+            try {
+                return task.get();
+            } finally {
+                executor.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                if (previous == null) {
+                    ENDPOINT.remove();
+                } else {
+                    ENDPOINT.set(previous);
+                }
+            }
+        };
+    }
+
+    private static String currentEndpoint() {
+        String endpoint = ENDPOINT.get();
+        return endpoint != null ? endpoint : NONE;
+    }
+
+    private Timer timer(Stage stage, String endpoint) {
+        String scenario = scenarioState.current().id();
+        AtomicReferenceArray<Timer> slots = timers
+                .computeIfAbsent(endpoint, e -> new ConcurrentHashMap<>())
+                .computeIfAbsent(scenario, s -> new AtomicReferenceArray<>(SLOTS));
+
+        int state = circuitBreaker().getState().ordinal();
+        int slot = stage.ordinal() * CIRCUIT_BREAKER_STATES.length + state;
+        Timer timer = slots.get(slot);
+        if (timer == null) {
+            // Yarışta iki thread aynı id'yi register eder; registry aynı timer'ı döner
+            timer = Timer.builder(METRIC)
+                    .tag("stage", stage.tag)
+                    .tag("endpoint", endpoint)
+                    .tag("scenario", scenario)
+                    .tag("circuitBreaker", CIRCUIT_BREAKER_TAGS[state])
+                    .register(meterRegistry);
+            slots.set(slot, timer);
+        }
+        return timer;
+    }
+
+    private CircuitBreaker circuitBreaker() {
+        CircuitBreaker cb = circuitBreaker;
+        if (cb == null) {
+            cb = circuitBreakerRegistry.circuitBreaker("externalService");
+            circuitBreaker = cb;
+        }
+        return cb;
+    }
+
+    /**
+     * Başlatılmış ölçüm; stop() bir kez çağrılmalıdır.
+     */
+    public static final class Sample {
+
+        private final Timer timer;
+        private final long startedAt;
+
+        private Sample(Timer timer, long startedAt) {
+            this.timer = timer;
+            this.startedAt = startedAt;
+        }
+
+        public void stop() {
+            timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.demo.chaos.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Request thread'ine endpoint'i bağlar ve REQUEST aşamasını ölçer.
+ *
+ * Async endpoint'lerde preHandle hem ilk dispatch'te hem de sonuç
+ * hazır olunca yapılan async dispatch'te çalışır; ölçüm ilk
+ * dispatch'te başlar, afterCompletion'da (bir kez) biter.
+ */
+public class StageMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String SAMPLE_ATTRIBUTE = StageMetricsInterceptor.class.getName() + ".sample";
+
+    private final StageMetrics stageMetrics;
+
+    public StageMetricsInterceptor(StageMetrics stageMetrics) {
+        this.stageMetrics = stageMetrics;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        StageMetrics.bindEndpoint(pattern != null ? pattern.toString() : request.getRequestURI());
+        if (request.getAttribute(SAMPLE_ATTRIBUTE) == null) {
+            request.setAttribute(SAMPLE_ATTRIBUTE, stageMetrics.start(StageMetrics.Stage.REQUEST));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        StageMetrics.clearEndpoint();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        if (request.getAttribute(SAMPLE_ATTRIBUTE) instanceof StageMetrics.Sample sample) {
+            request.removeAttribute(SAMPLE_ATTRIBUTE);
+            sample.stop();
+        }
+        StageMetrics.clearEndpoint();
+    }
+}
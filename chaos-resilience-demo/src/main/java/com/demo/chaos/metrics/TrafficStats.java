@@ -0,0 +1,40 @@
+package com.demo.chaos.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Endpoint başına canlı trafik istatistiği (RPS, fallback/timeout/red
+ * oranları); kaos sırasında /api/demo/status için anlık görünüm.
+ *
+ * Pencereler uygulama açılırken alınır ve çağıran tarafından alanda
+ * tutulur; request yolunda map araması bile yapılmaz. order.stage.latency
+ * gecikmeyi ölçer, bu sınıf hacmi ve sonuçları sayar.
+ */
+@Component
+public class TrafficStats {
+
+    /** Dış servise giden çağrılar (hedge ve retry dahil) */
+    public static final String EXTERNAL = "external";
+
+    /** Halkadaki saniye kovası sayısı */
+    public static final int WINDOW_SECONDS = 60;
+    /** /status'ta raporlanan son tamamlanmış saniyeler */
+    public static final int REPORT_SECONDS = 10;
+
+    private final Map<String, TrafficWindow> windows = new LinkedHashMap<>();
+
+    /** Aynı isim için hep aynı pencere döner */
+    public synchronized TrafficWindow window(String name) {
+        return windows.computeIfAbsent(name, n -> new TrafficWindow(n, WINDOW_SECONDS));
+    }
+
+    /** Kayıt sırasıyla */
+    public synchronized List<TrafficWindow> windows() {
+        return new ArrayList<>(windows.values());
+    }
+}
@@ -0,0 +1,152 @@
+package com.demo.chaos.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tek bir endpoint'in kayan trafik penceresi: saniye başına bir kova,
+ * sabit boyutlu halka.
+ *
+ * Her kovada çağrı ve sonuç (Outcome) sayaçları LongAdder'dır; çekirdek
+ * sayısı arttıkça eşzamanlı artırımlar aynı cache line için yarışmaz.
+ * Kovalar baştan ayrılır ve saniye dolunca yeniden kullanılır; kayıt
+ * yolunda nesne üretilmez. Kova saniyede bir kez, ilk yazan thread
+ * tarafından sıfırlanır (o an gelen diğer thread'ler kısa süre bekler).
+ *
+ * Okuma (snapshot) sadece tamamlanmış saniyeleri toplar; içinde
+ * bulunulan saniye yarım olduğu için RPS'i düşük gösterirdi.
+ */
+public final class TrafficWindow {
+
+    public enum Outcome {
+        /** Gerçek cevap */
+        SUCCESS,
+        /** Fallback cevabı (timeout ve devre açık hariç) */
+        FALLBACK,
+        /** TimeLimiter timeout'u veya istek deadline'ı */
+        TIMEOUT,
+        /** Circuit breaker reddi (çağrı hiç yapılmadı) */
+        REJECTED,
+        /** İstemciye hata döndü */
+        ERROR
+    }
+
+    private static final Outcome[] OUTCOMES = Outcome.values();
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final String name;
+    private final Bucket[] buckets;
+    private final long originNanos = System.nanoTime();
+
+    TrafficWindow(String name, int seconds) {
+        if (seconds < 2) {
+            throw new IllegalArgumentException("Pencere en az 2 saniye olmalı: " + seconds);
+        }
+        this.name = name;
+        this.buckets = new Bucket[seconds];
+        for (int i = 0; i < seconds; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    /** Tamamlanan bir çağrıyı sonucuyla birlikte sayar */
+    public void record(Outcome outcome) {
+        long second = currentSecond();
+        Bucket bucket = buckets[(int) (second % buckets.length)];
+        if (bucket.second < second) {
+            bucket.roll(second);
+        }
+        bucket.calls.increment();
+        bucket.outcomes[outcome.ordinal()].increment();
+    }
+
+    /**
+     * Son seconds tamamlanmış saniyenin toplamı; pencere daha yeni
+     * açıldıysa geçen süre kadarı.
+     */
+    public Snapshot snapshot(int seconds) {
+        long now = currentSecond();
+        int span = (int) Math.min(Math.min(seconds, buckets.length - 1), now);
+        long calls = 0;
+        long[] outcomes = new long[OUTCOMES.length];
+        for (long second = now - span; second < now; second++) {
+            Bucket bucket = buckets[(int) (second % buckets.length)];
+            // Sayaçlar okunurken kova yeni saniyeye dönebilir; tutarsız kova atlanır
+            if (bucket.second != second) {
+                continue;
+            }
+            long bucketCalls = bucket.calls.sum();
+            long[] bucketOutcomes = new long[OUTCOMES.length];
+            for (int i = 0; i < OUTCOMES.length; i++) {
+                bucketOutcomes[i] = bucket.outcomes[i].sum();
+            }
+            if (bucket.second != second) {
+                continue;
+            }
+            calls += bucketCalls;
+            for (int i = 0; i < OUTCOMES.length; i++) {
+                outcomes[i] += bucketOutcomes[i];
+            }
+        }
+        return new Snapshot(span, calls, outcomes);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private long currentSecond() {
+        return (System.nanoTime() - originNanos) / NANOS_PER_SECOND;
+    }
+
+    private static final class Bucket {
+
+        private volatile long second = -1;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder[] outcomes = new LongAdder[OUTCOMES.length];
+
+        private Bucket() {
+            for (int i = 0; i < outcomes.length; i++) {
+                outcomes[i] = new LongAdder();
+            }
+        }
+
+        /** second yeni değer olarak görünmeden önce sayaçlar sıfırlanmış olur */
+        private synchronized void roll(long newSecond) {
+            if (second >= newSecond) {
+                return;
+            }
+            calls.reset();
+            for (LongAdder outcome : outcomes) {
+                outcome.reset();
+            }
+            second = newSecond;
+        }
+    }
+
+    /**
+     * Pencerenin anlık toplamı.
+     *
+     * @param seconds toplanan tamamlanmış saniye sayısı (ilk saniyede 0)
+     */
+    public record Snapshot(int seconds, long calls, long[] outcomes) {
+
+        public double rps() {
+            return seconds > 0 ? (double) calls / seconds : 0;
+        }
+
+        public long count(Outcome outcome) {
+            return outcomes[outcome.ordinal()];
+        }
+
+        /** Sonucun çağrılara oranı (0-1) */
+        public double rate(Outcome outcome) {
+            return calls > 0 ? (double) count(outcome) / calls : 0;
+        }
+
+        /** Gerçek cevap alamayan çağrıların oranı (fallback, timeout, red, hata) */
+        public double errorRate() {
+            return calls > 0 ? 1 - rate(Outcome.SUCCESS) : 0;
+        }
+    }
+}
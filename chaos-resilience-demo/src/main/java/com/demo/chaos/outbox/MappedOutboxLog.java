@@ -0,0 +1,303 @@
+package com.demo.chaos.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Segmentli, memory-mapped, append-only log.
+ *
+ * Kayıt formatı: [length:int][crc32:int][payload]. Segment dolunca
+ * END_OF_SEGMENT işareti yazılır ve yeni segment açılır.
+ *
+ * append() sadece mmap'e yazar (mikrosaniyeler); diske zorlama (fsync)
+ * flush() ile toplu yapılır (group commit). Process çökse bile yazılan
+ * veri page cache'tedir; flush aralığı sadece OS çökmesinde kaybedilebilecek
+ * pencereyi belirler.
+ *
+ * Açılışta segmentler taranır, CRC'si tutmayan yarım kayıttan itibaren
+ * kuyruk atılır (crash recovery).
+ */
+public final class MappedOutboxLog implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedOutboxLog.class);
+
+    private static final int HEADER_SIZE = 8;
+    private static final int END_OF_SEGMENT = -1;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("(\\d{20})\\.log");
+
+    /** Segment içindeki okuma/yazma konumu */
+    public record Position(long segment, int offset) {
+    }
+
+    /** Okunan kayıt ve ondan sonraki konum (checkpoint için) */
+    public record Entry(byte[] payload, Position next) {
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final NavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final Queue<Segment> sealedUnflushed = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile Segment head;
+    private volatile boolean dirty;
+
+    private MappedOutboxLog(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    public static MappedOutboxLog open(Path directory, int segmentSize) throws IOException {
+        Files.createDirectories(directory);
+        MappedOutboxLog outboxLog = new MappedOutboxLog(directory, segmentSize);
+        outboxLog.recover();
+        return outboxLog;
+    }
+
+    private void recover() throws IOException {
+        List<Long> ids = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    ids.add(Long.parseLong(matcher.group(1)));
+                }
+            });
+        }
+        ids.sort(null);
+
+        boolean lastSealed = false;
+        for (long id : ids) {
+            Segment segment = Segment.map(segmentPath(id), id, segmentSize);
+            lastSealed = segment.scan();
+            segments.put(id, segment);
+        }
+
+        if (segments.isEmpty()) {
+            head = createSegment(0);
+        } else if (lastSealed) {
+            // END_OF_SEGMENT yazıldı ama yeni segment açılamadan çökmüş
+            head = createSegment(segments.lastKey() + 1);
+        } else {
+            head = segments.lastEntry().getValue();
+        }
+
+        log.info("📼 Outbox log açıldı: {} segment, head={}@{}",
+                segments.size(), head.id, head.writePos);
+    }
+
+    /**
+     * Kaydı log'a ekler. Diske zorlama bir sonraki flush()'ta yapılır.
+     */
+    public Position append(byte[] payload) throws IOException {
+        int recordSize = HEADER_SIZE + payload.length;
+        if (recordSize + Integer.BYTES > segmentSize) {
+            throw new IllegalArgumentException("Kayıt segment boyutundan büyük: " + payload.length);
+        }
+
+        writeLock.lock();
+        try {
+            Segment segment = head;
+            int pos = segment.writePos;
+            if (pos + recordSize + Integer.BYTES > segmentSize) {
+                segment.buffer.putInt(pos, END_OF_SEGMENT);
+                sealedUnflushed.add(segment);
+                segment = createSegment(segment.id + 1);
+                head = segment;
+                pos = 0;
+            }
+
+            MappedByteBuffer buffer = segment.buffer;
+            buffer.put(pos + HEADER_SIZE, payload);
+            buffer.putInt(pos + Integer.BYTES, checksum(payload));
+            // Length en son yazılır: yarım kalan kayıt okunmaz
+            buffer.putInt(pos, payload.length);
+            segment.writePos = pos + recordSize;
+            dirty = true;
+            return new Position(segment.id, pos);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Son flush'tan beri yazılanları diske zorlar (group commit).
+     *
+     * @return bir şey zorlandıysa true
+     */
+    public boolean flush() {
+        boolean forced = false;
+        Segment sealed;
+        while ((sealed = sealedUnflushed.poll()) != null) {
+            sealed.buffer.force();
+            forced = true;
+        }
+        if (dirty) {
+            dirty = false;
+            head.buffer.force();
+            forced = true;
+        }
+        return forced;
+    }
+
+    /**
+     * from konumundan itibaren en fazla max kayıt okur.
+     */
+    public List<Entry> read(Position from, int max) {
+        List<Entry> entries = new ArrayList<>(Math.min(max, 1024));
+        Segment segment = segments.get(from.segment());
+        int pos = from.offset();
+
+        while (segment != null && entries.size() < max) {
+            if (pos >= segment.writePos) {
+                if (segment == head) {
+                    break;
+                }
+                Long nextId = segments.higherKey(segment.id);
+                segment = nextId != null ? segments.get(nextId) : null;
+                pos = 0;
+                continue;
+            }
+
+            int length = segment.buffer.getInt(pos);
+            byte[] payload = new byte[length];
+            segment.buffer.get(pos + HEADER_SIZE, payload);
+            pos += HEADER_SIZE + length;
+            entries.add(new Entry(payload, new Position(segment.id, pos)));
+        }
+        return entries;
+    }
+
+    /**
+     * from konumundan log sonuna kadar kayıt sayısı (açılışta backlog için).
+     */
+    public long count(Position from) {
+        long count = 0;
+        Position position = from;
+        List<Entry> batch;
+        while (!(batch = read(position, 1024)).isEmpty()) {
+            count += batch.size();
+            position = batch.get(batch.size() - 1).next();
+        }
+        return count;
+    }
+
+    /** Log'daki ilk kaydın konumu */
+    public Position start() {
+        return new Position(segments.firstKey(), 0);
+    }
+
+    /** Konum hâlâ mevcut bir segmenti gösteriyor mu */
+    public boolean contains(Position position) {
+        Segment segment = segments.get(position.segment());
+        return segment != null && position.offset() <= segment.writePos;
+    }
+
+    /**
+     * Tamamen tüketilmiş (segmentId'den önceki) segmentleri siler.
+     */
+    public void deleteSegmentsBefore(long segmentId) throws IOException {
+        for (Long id : List.copyOf(segments.headMap(segmentId).keySet())) {
+            Segment segment = segments.get(id);
+            if (segment == null || segment == head) {
+                continue;
+            }
+            segments.remove(id);
+            segment.channel.close();
+            Files.deleteIfExists(segmentPath(id));
+            log.debug("🗑️ Outbox segmenti silindi: {}", id);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        for (Segment segment : segments.values()) {
+            segment.channel.close();
+        }
+    }
+
+    private Segment createSegment(long id) throws IOException {
+        Segment segment = Segment.map(segmentPath(id), id, segmentSize);
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private Path segmentPath(long id) {
+        return directory.resolve(String.format("%020d.log", id));
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static final class Segment {
+
+        private final long id;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private volatile int writePos;
+
+        private Segment(long id, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment map(Path path, long id, int size) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(id, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+
+        /**
+         * Geçerli kayıtları tarayıp writePos'u son sağlam kaydın sonuna koyar.
+         *
+         * @return segment END_OF_SEGMENT ile kapatılmışsa true
+         */
+        boolean scan() {
+            int size = buffer.capacity();
+            int pos = 0;
+            while (pos + HEADER_SIZE <= size) {
+                int length = buffer.getInt(pos);
+                if (length == END_OF_SEGMENT) {
+                    writePos = pos;
+                    return true;
+                }
+                if (length <= 0 || pos + HEADER_SIZE + length > size) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                buffer.get(pos + HEADER_SIZE, payload);
+                if (checksum(payload) != buffer.getInt(pos + Integer.BYTES)) {
+                    log.warn("⚠️ Outbox segment {}: {} konumunda bozuk kayıt, kuyruk atılıyor", id, pos);
+                    break;
+                }
+                pos += HEADER_SIZE + length;
+            }
+            writePos = pos;
+            return false;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.demo.chaos.outbox;
+
+import com.demo.chaos.config.OutboxProperties;
+import com.demo.chaos.external.FakeExternalService;
+import com.demo.chaos.json.CachedClock;
+import com.demo.chaos.json.JsonBody;
+import com.demo.chaos.json.JsonTemplate;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Degraded modda kabul edilen siparişlerin kalıcı kuyruğu.
+ *
+ * - enqueue(): siparişi MappedOutboxLog'a ekler (fallback yolunda, fsync beklemeden)
+ * - flusher: flushIntervalMs'de bir biriken yazmaları tek fsync ile diske zorlar
+ * - replayer: externalService circuit breaker'ı CLOSED olunca log'u
+ *   checkpoint'ten itibaren okur, kayıtlardaki orderId'leri tek
+ *   callExternalApiBatch() çağrısıyla teslim eder; checkpoint cevap
+ *   alınan son siparişe kadar ilerler
+ *
+ * Teslim garantisi at-least-once: çağrı sonrası, checkpoint öncesi çökme
+ * o siparişin tekrar oynatılmasına yol açar.
+ */
+public class OrderOutbox implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderOutbox.class);
+
+    private static final JsonTemplate RECORD = JsonTemplate.compile(
+            "{\"orderId\":\"%s\",\"reason\":\"%s\",\"acceptedAt\":\"%s\"}");
+    private static final String ORDER_ID_START = "{\"orderId\":\"";
+    private static final String ORDER_ID_END = "\",\"reason\":\"";
+
+    private final boolean enabled;
+    private final int replayBatchSize;
+    private final FakeExternalService externalService;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+    private MappedOutboxLog outboxLog;
+    private OutboxCheckpoint checkpoint;
+    private ScheduledThreadPoolExecutor scheduler;
+    /** Sadece replayer thread'i tarafından okunur/yazılır */
+    private MappedOutboxLog.Position replayPosition;
+
+    private final AtomicLong backlog = new AtomicLong();
+    private final Timer appendTimer;
+    private final Timer flushTimer;
+    private final Timer replayBatchTimer;
+    private final Counter appendFailures;
+    private final Counter replayed;
+    private final Counter replayFailures;
+
+    public OrderOutbox(
+            OutboxProperties properties,
+            FakeExternalService externalService,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            MeterRegistry meterRegistry) throws IOException {
+        this.enabled = properties.isEnabled();
+        this.replayBatchSize = properties.getReplayBatchSize();
+        this.externalService = externalService;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+
+        this.appendTimer = Timer.builder("outbox.append").register(meterRegistry);
+        this.flushTimer = Timer.builder("outbox.flush").register(meterRegistry);
+        this.replayBatchTimer = Timer.builder("outbox.replay.batch").register(meterRegistry);
+        this.appendFailures = Counter.builder("outbox.append.failures").register(meterRegistry);
+        this.replayed = Counter.builder("outbox.replayed").register(meterRegistry);
+        this.replayFailures = Counter.builder("outbox.replay.failures").register(meterRegistry);
+        Gauge.builder("outbox.backlog", backlog, AtomicLong::get).register(meterRegistry);
+
+        if (!enabled) {
+            log.info("📭 Outbox kapalı: degraded siparişler kaydedilmeyecek");
+            return;
+        }
+
+        Path directory = Path.of(properties.getDirectory());
+        this.outboxLog = MappedOutboxLog.open(directory, properties.getSegmentSize());
+        this.checkpoint = new OutboxCheckpoint(directory.resolve("checkpoint"));
+        this.replayPosition = checkpoint.load()
+                .filter(outboxLog::contains)
+                .orElseGet(outboxLog::start);
+        backlog.set(outboxLog.count(replayPosition));
+        log.info("♻️ Outbox hazır: {} bekleyen sipariş, replay konumu {}", backlog.get(), replayPosition);
+
+        AtomicInteger counter = new AtomicInteger(0);
+        this.scheduler = new ScheduledThreadPoolExecutor(2, runnable -> {
+            Thread thread = new Thread(runnable, "outbox-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly,
+                properties.getFlushIntervalMs(), properties.getFlushIntervalMs(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::replayQuietly,
+                properties.getReplayIntervalMs(), properties.getReplayIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Siparişi outbox'a ekler. fsync beklenmez (group commit).
+     *
+     * @return sipariş kaydedildiyse true
+     */
+    public boolean enqueue(String orderId, String reason) {
+        if (!enabled) {
+            return false;
+        }
+
+        byte[] payload = RECORD.render(orderId, reason, CachedClock.isoLocalDateTime()).toByteArray();
+
+        long start = System.nanoTime();
+        try {
+            outboxLog.append(payload);
+        } catch (IOException | RuntimeException e) {
+            appendFailures.increment();
+            log.error("❌ Sipariş outbox'a yazılamadı: {}", orderId, e);
+            return false;
+        }
+        appendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        backlog.incrementAndGet();
+        return true;
+    }
+
+    public long getBacklog() {
+        return backlog.get();
+    }
+
+    private void flushQuietly() {
+        long start = System.nanoTime();
+        try {
+            if (outboxLog.flush()) {
+                flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        } catch (RuntimeException e) {
+            log.error("❌ Outbox flush başarısız", e);
+        }
+    }
+
+    private void replayQuietly() {
+        try {
+            replay();
+        } catch (Exception e) {
+            // scheduleWithFixedDelay exception'da durur; döngüyü ayakta tut
+            log.error("❌ Outbox replay başarısız", e);
+        }
+    }
+
+    private void replay() throws IOException {
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker("externalService");
+        if (circuitBreaker.getState() != CircuitBreaker.State.CLOSED) {
+            return;
+        }
+
+        List<MappedOutboxLog.Entry> batch = outboxLog.read(replayPosition, replayBatchSize);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<String> orderIds = new ArrayList<>(batch.size());
+        for (MappedOutboxLog.Entry entry : batch) {
+            orderIds.add(orderId(entry.payload()));
+        }
+
+        long start = System.nanoTime();
+        List<JsonBody> answers;
+        try {
+            answers = circuitBreaker.executeSupplier(() -> externalService.callExternalApiBatch(orderIds));
+        } catch (Exception e) {
+            replayFailures.increment();
+            log.warn("⏸️ Outbox replay durdu: {}", e.getMessage());
+            return;
+        }
+
+        // Cevaplar sipariş sırasıyla gelir; cevapsız kalanlar bir sonraki turda
+        int done = Math.min(answers.size(), batch.size());
+        if (done > 0) {
+            MappedOutboxLog.Position committed = batch.get(done - 1).next();
+            checkpoint.store(committed);
+            replayPosition = committed;
+            outboxLog.deleteSegmentsBefore(committed.segment());
+            replayed.increment(done);
+            backlog.addAndGet(-done);
+            replayBatchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.info("📤 Outbox: {} sipariş yeniden oynatıldı, kalan {}", done, backlog.get());
+            log.debug("📤 Oynatılan siparişler: {}", orderIds.subList(0, done));
+        }
+    }
+
+    /**
+     * Kayıttaki orderId. Değerler escape edilmeden yazılır; reason ve
+     * acceptedAt sabit iç değerlerdir, bu yüzden son ayraç aranır.
+     */
+    private static String orderId(byte[] payload) {
+        String record = new String(payload, StandardCharsets.UTF_8);
+        int end = record.lastIndexOf(ORDER_ID_END);
+        if (!record.startsWith(ORDER_ID_START) || end < ORDER_ID_START.length()) {
+            throw new IllegalStateException("Bozuk outbox kaydı: " + record);
+        }
+        return record.substring(ORDER_ID_START.length(), end);
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (!enabled) {
+            return;
+        }
+        scheduler.shutdownNow();
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        outboxLog.close();
+    }
+}
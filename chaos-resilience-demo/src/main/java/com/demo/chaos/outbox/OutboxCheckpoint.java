@@ -0,0 +1,41 @@
+package com.demo.chaos.outbox;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Replay'in ulaştığı konumu tutan küçük dosya.
+ *
+ * Önce geçici dosyaya yazılıp fsync edilir, sonra atomik rename ile
+ * yerine konur; çökme anında dosya ya eski ya yeni konumu gösterir.
+ */
+public final class OutboxCheckpoint {
+
+    private final Path file;
+    private final Path tempFile;
+
+    public OutboxCheckpoint(Path file) {
+        this.file = file;
+        this.tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+    }
+
+    public Optional<MappedOutboxLog.Position> load() throws IOException {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        String[] parts = Files.readString(file, StandardCharsets.UTF_8).trim().split(" ");
+        return Optional.of(new MappedOutboxLog.Position(Long.parseLong(parts[0]), Integer.parseInt(parts[1])));
+    }
+
+    public void store(MappedOutboxLog.Position position) throws IOException {
+        byte[] content = (position.segment() + " " + position.offset() + "\n").getBytes(StandardCharsets.UTF_8);
+        Files.write(tempFile, content, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+        Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,144 @@
+package com.demo.chaos.scenario;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TimelinePlan'ı tek bir scheduler thread'inde oynatır.
+ *
+ * Her tick'te geçen süreye göre snapshot hesaplanır ve değiştiyse
+ * ScenarioState'e tek seferde yayınlanır. Request thread'leri bu
+ * işe hiç katılmaz. Plan bitince (veya durdurulunca) son snapshot
+ * geçerli kalır.
+ */
+public class ChaosTimeline implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ChaosTimeline.class);
+
+    private final ScenarioState scenarioState;
+    private final long maxDurationSec;
+    private final ScheduledExecutorService scheduler;
+
+    private Run running;
+
+    public ChaosTimeline(ScenarioState scenarioState, long maxDurationSec) {
+        this.scenarioState = scenarioState;
+        this.maxDurationSec = maxDurationSec;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "chaos-timeline");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Planı başlatır; çalışan bir plan varsa onu durdurur.
+     *
+     * @throws IllegalArgumentException plan geçersizse
+     */
+    public synchronized void start(TimelinePlan plan) {
+        plan.validate(maxDurationSec);
+        stop();
+
+        Run run = new Run(plan, scenarioState.current(), System.nanoTime());
+        run.future = scheduler.scheduleAtFixedRate(run::tick, 0, plan.tickMs(), TimeUnit.MILLISECONDS);
+        running = run;
+        log.info("🎞️ Kaos timeline başladı: {} adım, {} sn", plan.steps().size(), plan.durationSec());
+    }
+
+    /** @return durdurulan plan varsa true */
+    public synchronized boolean stop() {
+        if (running == null || running.future.isDone()) {
+            return false;
+        }
+        running.future.cancel(false);
+        log.info("⏹️ Kaos timeline durduruldu: {} sn'de", String.format("%.1f", running.elapsedSec()));
+        return true;
+    }
+
+    /** Çalışan planın geçen süresi (sn) */
+    public synchronized Optional<Double> elapsedSec() {
+        if (running == null || running.future.isDone()) {
+            return Optional.empty();
+        }
+        return Optional.of(running.elapsedSec());
+    }
+
+    @Override
+    public void close() {
+        stop();
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Tek bir oynatma. Sadece scheduler thread'inden tick'lenir.
+     */
+    private final class Run {
+
+        private final TimelinePlan plan;
+        private final long startNanos;
+        private ScenarioSnapshot base;
+        private int nextScenarioStep;
+        private volatile ScheduledFuture<?> future;
+
+        Run(TimelinePlan plan, ScenarioSnapshot initial, long startNanos) {
+            this.plan = plan;
+            this.base = initial;
+            this.startNanos = startNanos;
+        }
+
+        double elapsedSec() {
+            return (System.nanoTime() - startNanos) / 1e9;
+        }
+
+        void tick() {
+            try {
+                double t = elapsedSec();
+                List<TimelinePlan.Step> steps = plan.steps();
+
+                // Geçilen senaryo adımları sırayla uygulanır (CB reset vb. yan etkileriyle)
+                while (nextScenarioStep < steps.size() && steps.get(nextScenarioStep).atSec() <= t) {
+                    if (steps.get(nextScenarioStep) instanceof TimelinePlan.ScenarioStep step) {
+                        base = scenarioState.switchTo(step.scenario());
+                        log.info("🎬 Timeline {} sn: senaryo {}", String.format("%.1f", t), step.scenario());
+                    }
+                    nextScenarioStep++;
+                }
+
+                ScenarioSnapshot snapshot = base;
+                for (TimelinePlan.Step step : steps) {
+                    if (step.atSec() > t) {
+                        break;
+                    }
+                    if (step instanceof TimelinePlan.LatencyRamp ramp) {
+                        snapshot = ramp.applyAt(t, snapshot);
+                    } else if (step instanceof TimelinePlan.ExceptionPulse pulse) {
+                        snapshot = pulse.applyAt(t, snapshot);
+                    }
+                }
+                if (snapshot != base) {
+                    snapshot = snapshot.named("Timeline (" + base.name() + ")");
+                }
+                if (!snapshot.equals(scenarioState.current())) {
+                    scenarioState.apply(snapshot);
+                }
+
+                ScheduledFuture<?> self = future;
+                if (t >= plan.durationSec() && self != null) {
+                    log.info("🏁 Kaos timeline bitti");
+                    self.cancel(false);
+                }
+            } catch (RuntimeException e) {
+                // Tick'i öldürmesin; bir sonraki tick tekrar dener
+                log.error("Kaos timeline tick hatası", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.demo.chaos.scenario;
+
+import com.demo.chaos.deadline.Deadline;
+import de.codecentric.spring.boot.chaos.monkey.assaults.ChaosMonkeyRequestAssault;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Senaryo snapshot'ına göre gecikme veya exception uygulayan Chaos
+ * Monkey saldırısı.
+ *
+ * Chaos Monkey watcher'ları ve level ayarı aynen çalışır; sadece
+ * saldırı kararı AssaultProperties alanları yerine tek bir snapshot
+ * okumasıyla verilir. Yerleşik latency/exception saldırıları bu
+ * yüzden application.yml'de kapalıdır; AssaultProperties'i değiştiren
+ * /actuator/chaosmonkey endpoint'i de kapatılmıştır (ayarlar
+ * /api/demo/scenario ve /api/demo/timeline ile değişir).
+ *
+ * Chaos Monkey önce isActive(), hemen ardından aynı thread'de attack()
+ * çağırır. Snapshot isActive()'te bir kez okunur, saldırı orada seçilir
+ * ve attack()'e thread-local ile aktarılır.
+ *
+ * Gecikme isteğin deadline'ını aşamaz: bütçe bitince
+ * DeadlineExceededException fırlatılır ve thread serbest kalır.
+ */
+@Component
+public class ScenarioAssault implements ChaosMonkeyRequestAssault {
+
+    private static final String EXCEPTION_MESSAGE = "Chaos Monkey - RuntimeException";
+
+    private final ScenarioState scenarioState;
+
+    /** isActive() → attack() arasında seçilen saldırı ve gecikmesi */
+    private final ThreadLocal<Pending> pending = new ThreadLocal<>();
+
+    public ScenarioAssault(ScenarioState scenarioState) {
+        this.scenarioState = scenarioState;
+    }
+
+    /** Senaryo exception saldırısının fırlattığı hata (async yol da kullanır) */
+    public static RuntimeException chaosException() {
+        return new RuntimeException(EXCEPTION_MESSAGE);
+    }
+
+    @Override
+    public boolean isActive() {
+        ScenarioSnapshot snapshot = scenarioState.current();
+        ScenarioSnapshot.Attack attack = snapshot.nextAttack();
+        if (attack == ScenarioSnapshot.Attack.NONE) {
+            pending.remove();
+            return false;
+        }
+        long delay = attack == ScenarioSnapshot.Attack.LATENCY ? snapshot.nextLatencyMillis() : 0;
+        pending.set(new Pending(attack, delay));
+        return true;
+    }
+
+    @Override
+    public void attack() {
+        Pending next = pending.get();
+        if (next == null) {
+            return;
+        }
+        pending.remove();
+
+        if (next.attack() == ScenarioSnapshot.Attack.EXCEPTION) {
+            throw chaosException();
+        }
+        try {
+            Deadline.sleep(next.delayMillis(), Deadline.STAGE_CHAOS);
+        } catch (InterruptedException e) {
+            // Timeout ile iptal edildi; thread'i serbest bırak
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Chaos Monkey gecikmesi iptal edildi");
+        }
+    }
+
+    private record Pending(ScenarioSnapshot.Attack attack, long delayMillis) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.demo.chaos.scenario;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Değişmez kaos ayarları.
+ *
+ * Senaryo geçişi yeni bir snapshot'ın tek seferde yayınlanmasıdır
+ * (bkz. ScenarioState); bir istek ya eski ya yeni ayarların tamamını
+ * görür, ikisinin karışımını asla görmez.
+ *
+ * @param id   metrik tag'i: "1".."4" veya timeline ile türetilmişse "timeline"
+ * @param name /api/demo/status'ta görünen ad
+ */
+public record ScenarioSnapshot(
+        String id,
+        String name,
+        boolean chaosEnabled,
+        boolean latencyActive,
+        long latencyStartMs,
+        long latencyEndMs,
+        boolean exceptionsActive) {
+
+    public static final String TIMELINE_ID = "timeline";
+
+    /** Bir çağrıya uygulanacak saldırı */
+    public enum Attack { NONE, LATENCY, EXCEPTION }
+
+    private static final long CHAOS_LATENCY_START_MS = 3000;
+    private static final long CHAOS_LATENCY_END_MS = 5000;
+
+    public ScenarioSnapshot {
+        if (latencyStartMs < 0 || latencyEndMs < latencyStartMs) {
+            throw new IllegalArgumentException("Geçersiz gecikme aralığı: " + latencyStartMs + "-" + latencyEndMs);
+        }
+    }
+
+    /**
+     * DemoController senaryoları.
+     *
+     * @throws IllegalArgumentException 1-4 dışındaki numaralar için
+     */
+    public static ScenarioSnapshot preset(int scenarioNumber) {
+        return switch (scenarioNumber) {
+            case 1 -> new ScenarioSnapshot("1", "1 - Normal Durum",
+                    false, false, CHAOS_LATENCY_START_MS, CHAOS_LATENCY_END_MS, false);
+            case 2 -> new ScenarioSnapshot("2", "2 - Chaos Monkey Aktif",
+                    true, true, CHAOS_LATENCY_START_MS, CHAOS_LATENCY_END_MS, false);
+            case 3 -> new ScenarioSnapshot("3", "3 - Chaos + Exceptions",
+                    true, true, CHAOS_LATENCY_START_MS, CHAOS_LATENCY_END_MS, true);
+            case 4 -> new ScenarioSnapshot("4", "4 - Yönetilen Kaos (Resilience4j)",
+                    true, true, CHAOS_LATENCY_START_MS, CHAOS_LATENCY_END_MS, false);
+            default -> throw new IllegalArgumentException("Geçersiz senaryo numarası: " + scenarioNumber);
+        };
+    }
+
+    /**
+     * Bu çağrının saldırısı. Yerleşik Chaos Monkey gibi: gecikme ve
+     * exception ikisi de açıksa her çağrıda biri rastgele seçilir,
+     * ikisi birden uygulanmaz.
+     */
+    public Attack nextAttack() {
+        if (!chaosEnabled) {
+            return Attack.NONE;
+        }
+        boolean latency = latencyActive && latencyEndMs > 0;
+        if (latency && exceptionsActive) {
+            return ThreadLocalRandom.current().nextBoolean() ? Attack.LATENCY : Attack.EXCEPTION;
+        }
+        return latency ? Attack.LATENCY : exceptionsActive ? Attack.EXCEPTION : Attack.NONE;
+    }
+
+    /** [latencyStartMs, latencyEndMs] aralığında rastgele gecikme */
+    public long nextLatencyMillis() {
+        return latencyStartMs == latencyEndMs
+                ? latencyStartMs
+                : ThreadLocalRandom.current().nextLong(latencyStartMs, latencyEndMs + 1);
+    }
+
+    /** Gecikme aralığını ayarlar ve kaosu açar */
+    public ScenarioSnapshot withLatency(long startMs, long endMs) {
+        return new ScenarioSnapshot(TIMELINE_ID, name, true, true, startMs, endMs, exceptionsActive);
+    }
+
+    /** Exception saldırısını açar/kapatır; açmak kaosu da açar */
+    public ScenarioSnapshot withExceptions(boolean active) {
+        return new ScenarioSnapshot(TIMELINE_ID, name, chaosEnabled || active,
+                latencyActive, latencyStartMs, latencyEndMs, active);
+    }
+
+    public ScenarioSnapshot named(String newName) {
+        return new ScenarioSnapshot(id, newName, chaosEnabled,
+                latencyActive, latencyStartMs, latencyEndMs, exceptionsActive);
+    }
+}
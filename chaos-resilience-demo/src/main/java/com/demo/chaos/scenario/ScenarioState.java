@@ -0,0 +1,88 @@
+package com.demo.chaos.scenario;
+
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Geçerli senaryonun tek kaynağı.
+ *
+ * Okuyan taraf (ScenarioAssault, StageMetrics, /status) istek başına
+ * tek bir volatile okuma yapar; yazan taraf yeni snapshot'ı tek
+ * set() ile yayınlar. Chaos Monkey'nin "enabled" bayrağı sadece
+ * watcher'ların saldırıyı tetiklemesi için yansıtılır; saldırının
+ * kendisi her zaman snapshot'a göre karar verir.
+ */
+@Component
+public class ScenarioState {
+
+    private static final Logger log = LoggerFactory.getLogger(ScenarioState.class);
+
+    private final AtomicReference<ScenarioSnapshot> current =
+            new AtomicReference<>(ScenarioSnapshot.preset(1));
+
+    private final ChaosMonkeySettings chaosMonkeySettings;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+    /** isTrouble() deterministic modu için çağrı sayacı */
+    private final AtomicLong troubleCounter = new AtomicLong();
+
+    public ScenarioState(ChaosMonkeySettings chaosMonkeySettings, CircuitBreakerRegistry circuitBreakerRegistry) {
+        this.chaosMonkeySettings = chaosMonkeySettings;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        chaosMonkeySettings.getChaosMonkeyProperties().setEnabled(current.get().chaosEnabled());
+    }
+
+    public ScenarioSnapshot current() {
+        return current.get();
+    }
+
+    /**
+     * Hazır senaryoya geçer. Senaryo 4, devreyi temiz başlatmak için
+     * circuit breaker'ı da resetler.
+     *
+     * @throws IllegalArgumentException 1-4 dışındaki numaralar için
+     */
+    public ScenarioSnapshot switchTo(int scenarioNumber) {
+        ScenarioSnapshot snapshot = ScenarioSnapshot.preset(scenarioNumber);
+        apply(snapshot);
+        if (scenarioNumber == 4) {
+            try {
+                circuitBreakerRegistry.circuitBreaker("externalService").reset();
+                log.info("🔄 Circuit Breaker reset edildi");
+            } catch (Exception e) {
+                log.warn("Circuit breaker reset failed: {}", e.getMessage());
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Chaos Monkey proxy'sinden geçmeyen saldırılar için (non-blocking
+     * external çağrı) level ayarı: yaklaşık her level'inci çağrı
+     * saldırıya uğrar, deterministic modda tam olarak her level'inci.
+     */
+    public boolean isTrouble() {
+        AssaultProperties assaults = chaosMonkeySettings.getAssaultProperties();
+        int level = assaults.getLevel();
+        if (level <= 1) {
+            return true;
+        }
+        if (assaults.isDeterministic()) {
+            return troubleCounter.incrementAndGet() % level == 0;
+        }
+        return ThreadLocalRandom.current().nextInt(level) == 0;
+    }
+
+    public void apply(ScenarioSnapshot snapshot) {
+        current.set(snapshot);
+        chaosMonkeySettings.getChaosMonkeyProperties().setEnabled(snapshot.chaosEnabled());
+    }
+}
@@ -0,0 +1,146 @@
+package com.demo.chaos.scenario;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Zamanlanmış kaos akışı.
+ *
+ * Örnek: senaryo 2 ile başla, 60 sn'de gecikmeyi 0'dan 5 sn'ye çıkar,
+ * sonra 2 dakika boyunca her 30 sn'de 5 sn'lik exception darbesi.
+ * <pre>
+ * {
+ *   "tickMs": 250,
+ *   "steps": [
+ *     {"type": "scenario",       "atSec": 0,  "scenario": 2},
+ *     {"type": "latencyRamp",    "atSec": 0,  "durationSec": 60,  "fromMs": 0, "toMs": 5000},
+ *     {"type": "exceptionPulse", "atSec": 60, "durationSec": 120, "everySec": 30, "pulseSec": 5}
+ *   ]
+ * }
+ * </pre>
+ *
+ * Her tick'te o anki snapshot sadece geçen süreden hesaplanır; tick
+ * kaçırmak durumu bozmaz.
+ */
+public record TimelinePlan(Long tickMs, List<Step> steps) {
+
+    private static final long DEFAULT_TICK_MS = 250;
+
+    public TimelinePlan {
+        tickMs = tickMs == null ? DEFAULT_TICK_MS : tickMs;
+        steps = steps == null ? List.of()
+                : steps.stream().sorted(Comparator.comparingDouble(Step::atSec)).toList();
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+    @JsonSubTypes({
+            @JsonSubTypes.Type(value = ScenarioStep.class, name = "scenario"),
+            @JsonSubTypes.Type(value = LatencyRamp.class, name = "latencyRamp"),
+            @JsonSubTypes.Type(value = ExceptionPulse.class, name = "exceptionPulse")
+    })
+    public sealed interface Step permits ScenarioStep, LatencyRamp, ExceptionPulse {
+
+        double atSec();
+
+        /** Adımın etkisinin sona erdiği an (anlık adımlarda atSec) */
+        double endSec();
+
+        void validate();
+    }
+
+    /** atSec anında hazır senaryoya geçer (ScenarioState.switchTo) */
+    public record ScenarioStep(double atSec, int scenario) implements Step {
+
+        @Override
+        public double endSec() {
+            return atSec;
+        }
+
+        @Override
+        public void validate() {
+            ScenarioSnapshot.preset(scenario);
+        }
+    }
+
+    /**
+     * Gecikmeyi doğrusal değiştirir; bitince son değer kalır.
+     * jitterMs > 0 ise gecikme [değer, değer + jitter] aralığından seçilir.
+     */
+    public record LatencyRamp(double atSec, double durationSec, long fromMs, long toMs, long jitterMs)
+            implements Step {
+
+        @Override
+        public double endSec() {
+            return atSec + durationSec;
+        }
+
+        @Override
+        public void validate() {
+            if (durationSec <= 0 || fromMs < 0 || toMs < 0 || jitterMs < 0) {
+                throw new IllegalArgumentException("Geçersiz latencyRamp: " + this);
+            }
+        }
+
+        ScenarioSnapshot applyAt(double t, ScenarioSnapshot snapshot) {
+            double progress = Math.min(1.0, (t - atSec) / durationSec);
+            long latency = Math.round(fromMs + (toMs - fromMs) * progress);
+            return snapshot.withLatency(latency, latency + jitterMs);
+        }
+    }
+
+    /** Pencere boyunca her everySec'in ilk pulseSec'inde exception açıktır */
+    public record ExceptionPulse(double atSec, double durationSec, double everySec, double pulseSec)
+            implements Step {
+
+        @Override
+        public double endSec() {
+            return atSec + durationSec;
+        }
+
+        @Override
+        public void validate() {
+            if (durationSec <= 0 || everySec <= 0 || pulseSec <= 0 || pulseSec > everySec) {
+                throw new IllegalArgumentException("Geçersiz exceptionPulse: " + this);
+            }
+        }
+
+        ScenarioSnapshot applyAt(double t, ScenarioSnapshot snapshot) {
+            if (t >= endSec()) {
+                return snapshot;
+            }
+            return snapshot.withExceptions((t - atSec) % everySec < pulseSec);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException plan geçersizse
+     */
+    public void validate(long maxDurationSec) {
+        if (steps.isEmpty()) {
+            throw new IllegalArgumentException("En az bir step gerekli");
+        }
+        if (tickMs < 10) {
+            throw new IllegalArgumentException("tickMs en az 10 olmalı");
+        }
+        for (Step step : steps) {
+            if (step.atSec() < 0) {
+                throw new IllegalArgumentException("Geçersiz atSec: " + step);
+            }
+            step.validate();
+        }
+        if (durationSec() > maxDurationSec) {
+            throw new IllegalArgumentException("Süre sınırı aşıldı: en fazla " + maxDurationSec + " sn");
+        }
+    }
+
+    public double durationSec() {
+        double end = 0;
+        for (Step step : steps) {
+            end = Math.max(end, step.endSec());
+        }
+        return end;
+    }
+}
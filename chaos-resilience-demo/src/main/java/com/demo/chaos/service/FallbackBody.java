@@ -0,0 +1,32 @@
+package com.demo.chaos.service;
+
+import com.demo.chaos.json.JsonBody;
+import com.demo.chaos.metrics.TrafficWindow;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Fallback ile üretilmiş sipariş cevabı.
+ *
+ * İstemci için normal bir 200 cevabıdır; sonucu (timeout, devre açık,
+ * diğer fallback) taşır ki controller trafik istatistiğinde gerçek
+ * cevaptan ayırabilsin. Yazma ve gömme sarılan gövdeye bırakılır.
+ */
+public record FallbackBody(JsonBody body, TrafficWindow.Outcome outcome) implements JsonBody {
+
+    @Override
+    public int length() {
+        return body.length();
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        body.writeTo(out);
+    }
+
+    @Override
+    public JsonBody trimmed() {
+        return body.trimmed();
+    }
+}
@@ -1,31 +1,291 @@
 package com.demo.chaos.service;
 
-import com.demo.chaos.external.FakeExternalService;
+import com.demo.chaos.concurrent.ConcurrencyLimitExceededException;
+import com.demo.chaos.concurrent.Hedger;
+import com.demo.chaos.concurrent.InterruptibleFutures;
+import com.demo.chaos.concurrent.Retrier;
+import com.demo.chaos.concurrent.ScatterGather;
+import com.demo.chaos.config.ExternalServiceConfig;
+import com.demo.chaos.config.ExternalServiceProperties;
+import com.demo.chaos.config.OrderExecutorConfig;
+import com.demo.chaos.deadline.Deadline;
+import com.demo.chaos.deadline.DeadlineExceededException;
+import com.demo.chaos.external.CachingExternalService;
+import com.demo.chaos.external.downstream.Downstreams;
+import com.demo.chaos.json.CachedClock;
+import com.demo.chaos.json.JsonBody;
+import com.demo.chaos.json.JsonTemplate;
+import com.demo.chaos.metrics.StageMetrics;
+import com.demo.chaos.metrics.TrafficWindow;
+import com.demo.chaos.outbox.OrderOutbox;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker.State;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.timelimiter.annotation.TimeLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
 
 /**
  * Sipariş işleme servisi.
  * 
- * İki versiyon sunar:
+ * Üç versiyon sunar:
  * 1. processOrder() - Korumasız, kaos durumunda yavaşlar
  * 2. processOrderProtected() - Resilience4j ile korumalı
+ * 3. processOrderBatchProtected() - Micro-batch, Resilience4j ile korumalı
+ * 4. processOrderOrchestrated() - Birden fazla downstream'e paralel (scatter-gather)
+ *
+ * External çağrılar CachingExternalService üzerinden yapılır;
+ * cache kapalıyken doğrudan FakeExternalService'e gider.
+ * demo.external.hedge.enabled=true iken korumalı yol hedged çağrı,
+ * demo.external.retry.enabled=true iken bütçeli retry yapar.
+ *
+ * İsteğin deadline'ı (bkz. Deadline) executor'a ve external çağrıya
+ * taşınır; her aşama sabit timeout'u ile kalan bütçeden küçük olanı
+ * kullanır, süresi geçmiş iş başlatılmaz.
  */
 @Service
 public class OrderService {
 
     private static final Logger log = LoggerFactory.getLogger(OrderService.class);
-    private final FakeExternalService externalService;
 
-    public OrderService(FakeExternalService externalService) {
+    // Response şablonları bir kez UTF-8'e encode edilir (bkz. JsonTemplate).
+    // ORDER_RESPONSE ve TIMEOUT_RESPONSE public: benchmark kopya değil bunları ölçer.
+    public static final JsonTemplate ORDER_RESPONSE = JsonTemplate.compile("""
+            {
+                "orderId": "ORD-%s",
+                "status": "COMPLETED",
+                "protected": %s,
+                "processingTime": "%sms",
+                "externalService": %s,
+                "timestamp": "%s"
+            }
+            """);
+
+    /** Sipariş işlenmedi (DEGRADED); son bilinen external cevap sadece bilgi amaçlı */
+    private static final JsonTemplate STALE_RESPONSE = JsonTemplate.compile("""
+            {
+                "orderId": "%s",
+                "status": "DEGRADED",
+                "protected": true,
+                "stale": true,
+                "fallbackReason": "%s",
+                "queued": %s,
+                "message": "%s",
+                "lastKnownExternalService": %s,
+                "timestamp": "%s"
+            }
+            """);
+
+    private static final JsonTemplate DEGRADED_RESPONSE = JsonTemplate.compile("""
+            {
+                "orderId": "%s",
+                "status": "DEGRADED",
+                "protected": true,
+                "fallbackReason": "%s",
+                "queued": %s,
+                "message": "%s",
+                "originalError": "%s",
+                "timestamp": "%s"
+            }
+            """);
+
+    public static final JsonTemplate TIMEOUT_RESPONSE = JsonTemplate.compile("""
+            {
+                "orderId": "ORD-TIMEOUT-%s",
+                "status": "DEGRADED",
+                "protected": true,
+                "fallbackReason": "Timeout (>2s)",
+                "queued": %s,
+                "message": "Servis yavaş, fallback response döndürülüyor",
+                "timestamp": "%s"
+            }
+            """);
+
+    private static final JsonTemplate ORCHESTRATED_RESPONSE = JsonTemplate.compile("""
+            {
+                "orderId": "ORD-%s",
+                "status": "COMPLETED",
+                "protected": true,
+                "orchestrated": true,
+                "processingTime": "%sms",
+                "degradedDownstreams": %s,
+                "downstreams": %s,
+                "timestamp": "%s"
+            }
+            """);
+
+    /** Micro-batch satırları (NDJSON, tek satır) */
+    private static final JsonTemplate BATCH_ORDER_RESPONSE = JsonTemplate.compile(
+            "{\"orderId\":\"%s\",\"status\":\"COMPLETED\",\"protected\":true,"
+                    + "\"batchSize\":%s,\"processingTime\":\"%sms\",\"externalService\":%s}");
+
+    private static final JsonTemplate BATCH_DEGRADED_RESPONSE = JsonTemplate.compile(
+            "{\"orderId\":\"%s\",\"status\":\"DEGRADED\",\"protected\":true,"
+                    + "\"fallbackReason\":\"%s\",\"queued\":%s,\"timestamp\":\"%s\"}");
+
+    private static final JsonTemplate DOWNSTREAM_DEGRADED = JsonTemplate.compile(
+            "{\"status\": \"DEGRADED\", \"required\": false, \"reason\": \"%s\"}");
+
+    private static final byte[] REASON_CIRCUIT_OPEN = "Circuit Breaker Open".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] REASON_TIMEOUT = "Timeout (>2s)".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] REASON_CONCURRENCY_LIMIT = "Concurrency Limit".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] MESSAGE_QUEUED =
+            "Sipariş kuyruğa alındı, daha sonra işlenecek".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] MESSAGE_NOT_QUEUED =
+            "Sipariş kaydedilemedi, tekrar deneyin".getBytes(StandardCharsets.UTF_8);
+
+    private final CachingExternalService externalService;
+    private final ExecutorService orderExecutor;
+    private final ExternalServiceProperties externalProperties;
+    private final OrderOutbox orderOutbox;
+    private final StageMetrics stageMetrics;
+    private final ScheduledExecutorService latencyTimer;
+    private final Downstreams downstreams;
+    /** "downstreams" nesnesi: downstream başına bir yuva, yapılandırma sırasıyla */
+    private final JsonTemplate downstreamsTemplate;
+    /** null ise hedge kapalı */
+    private final Hedger hedger;
+    /** null ise retry kapalı */
+    private final Retrier retrier;
+
+    public OrderService(
+            CachingExternalService externalService,
+            @Qualifier(OrderExecutorConfig.ORDER_EXECUTOR) ExecutorService orderExecutor,
+            ExternalServiceProperties externalProperties,
+            OrderOutbox orderOutbox,
+            StageMetrics stageMetrics,
+            Downstreams downstreams,
+            @Qualifier(ExternalServiceConfig.LATENCY_TIMER) ScheduledExecutorService latencyTimer,
+            MeterRegistry meterRegistry,
+            CircuitBreakerRegistry circuitBreakerRegistry) {
         this.externalService = externalService;
+        this.orderExecutor = orderExecutor;
+        this.externalProperties = externalProperties;
+        this.orderOutbox = orderOutbox;
+        this.stageMetrics = stageMetrics;
+        this.latencyTimer = latencyTimer;
+        this.downstreams = downstreams;
+        this.downstreamsTemplate = compileDownstreamsTemplate(downstreams.names());
+
+        ExternalServiceProperties.Hedge hedgeProperties = externalProperties.getHedge();
+        // Cache açıkken hedge aynı single-flight yüklemesine katılır: ek çağrı yapmaz, sadece bütçe harcar
+        boolean hedgeEnabled = hedgeProperties.isEnabled() && !externalProperties.getCache().isEnabled();
+        if (hedgeProperties.isEnabled() && !hedgeEnabled) {
+            log.warn("🪝 Hedged request kapatıldı: cache açıkken hedge aynı yüklemeyi bekler");
+        }
+        this.hedger = hedgeEnabled ? createHedger(hedgeProperties, latencyTimer, meterRegistry) : null;
+        log.info("🪝 Hedged request: enabled={}, mode={}, delay={}ms, budget=%{}",
+                hedgeEnabled, hedgeProperties.getDelayMode(),
+                hedgeProperties.getDelayMs(), hedgeProperties.getBudgetPercent());
+
+        ExternalServiceProperties.Retry retryProperties = externalProperties.getRetry();
+        this.retrier = retryProperties.isEnabled()
+                ? createRetrier(retryProperties, latencyTimer, meterRegistry, circuitBreakerRegistry) : null;
+        log.info("🔁 Retry: enabled={}, maxAttempts={}, backoff={}-{}ms, attemptTimeout={}ms, budget=%{}",
+                retryProperties.isEnabled(), retryProperties.getMaxAttempts(),
+                retryProperties.getBaseDelayMs(), retryProperties.getMaxDelayMs(),
+                retryProperties.getAttemptTimeoutMs(), retryProperties.getBudgetPercent());
+    }
+
+    /**
+     * Hedge zamanlaması latencyTimer üzerinde yapılır (kısa, bloklamayan iş).
+     */
+    private static Hedger createHedger(ExternalServiceProperties.Hedge properties,
+                                       ScheduledExecutorService timer, MeterRegistry meterRegistry) {
+        Hedger hedger = new Hedger(
+                Duration.ofMillis(properties.getDelayMs()),
+                properties.getDelayMode() == ExternalServiceProperties.Hedge.DelayMode.ADAPTIVE,
+                properties.getQuantile(),
+                Duration.ofMillis(properties.getMinDelayMs()),
+                properties.getBudgetPercent(),
+                timer);
+
+        registerHedgeCounter(meterRegistry, "order.hedge.calls", hedger, Hedger::callCount);
+        registerHedgeCounter(meterRegistry, "order.hedge.fired", hedger, Hedger::firedCount);
+        registerHedgeCounter(meterRegistry, "order.hedge.won", hedger, Hedger::wonCount);
+        registerHedgeCounter(meterRegistry, "order.hedge.budget.exhausted", hedger, Hedger::budgetExhaustedCount);
+        Gauge.builder("order.hedge.delay", hedger, h -> h.currentDelayNanos() / 1_000_000.0)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        return hedger;
+    }
+
+    /**
+     * Retry sadece externalService devresi CLOSED iken yapılır: açıkken
+     * downstream'e yük bindirilmez, half-open deneme çağrıları da
+     * downstream'in gerçek durumunu görür.
+     */
+    private static Retrier createRetrier(ExternalServiceProperties.Retry properties, ScheduledExecutorService timer,
+                                         MeterRegistry meterRegistry, CircuitBreakerRegistry circuitBreakerRegistry) {
+        Retrier retrier = new Retrier(
+                properties.getMaxAttempts(),
+                Duration.ofMillis(properties.getBaseDelayMs()),
+                Duration.ofMillis(properties.getMaxDelayMs()),
+                Duration.ofMillis(properties.getAttemptTimeoutMs()),
+                properties.getBudgetPercent(),
+                timer,
+                () -> circuitBreakerRegistry.circuitBreaker("externalService").getState() == State.CLOSED,
+                OrderService::isRetryable);
+
+        FunctionCounter.builder("order.retry.calls", retrier, Retrier::callCount).register(meterRegistry);
+        FunctionCounter.builder("order.retry.attempts", retrier, Retrier::retryCount).register(meterRegistry);
+        FunctionCounter.builder("order.retry.recovered", retrier, Retrier::recoveredCount).register(meterRegistry);
+        for (Retrier.Suppression reason : Retrier.Suppression.values()) {
+            FunctionCounter.builder("order.retry.suppressed", retrier, r -> r.suppressedCount(reason))
+                    .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+        Gauge.builder("order.retry.budget.tokens", retrier, Retrier::budgetTokens).register(meterRegistry);
+        // Retry sayesinde kurtarılan çağrıların oranı
+        Gauge.builder("order.retry.success.gain", retrier,
+                        r -> r.callCount() > 0 ? (double) r.recoveredCount() / r.callCount() : 0)
+                .register(meterRegistry);
+        return retrier;
+    }
+
+    /**
+     * Sadece geçici hatalar: limit reddi, deadline aşımı, iptal ve
+     * açık devre tekrar denenmez.
+     */
+    private static boolean isRetryable(Throwable t) {
+        return !(t instanceof ConcurrencyLimitExceededException
+                || t instanceof DeadlineExceededException
+                || t instanceof CancellationException
+                || t instanceof CallNotPermittedException);
+    }
+
+    private static void registerHedgeCounter(MeterRegistry registry, String name, Hedger hedger,
+                                             ToDoubleFunction<Hedger> count) {
+        FunctionCounter.builder(name, hedger, count).register(registry);
+    }
+
+    private static JsonTemplate compileDownstreamsTemplate(List<String> names) {
+        StringBuilder template = new StringBuilder("{");
+        for (int i = 0; i < names.size(); i++) {
+            template.append(i == 0 ? "" : ", ").append('"').append(names.get(i)).append("\": %s");
+        }
+        return JsonTemplate.compile(template.append('}').toString());
     }
 
     /**
@@ -34,30 +294,29 @@ public class OrderService {
      * Chaos Monkey aktifken bu metod yavaşlar ve
      * thread'ler bloklanır.
      */
-    public String processOrder() {
+    public JsonBody processOrder() {
         log.info("📦 Sipariş işleniyor (KORUMASIZ)...");
         long startTime = System.currentTimeMillis();
 
         // External servisi çağır - burada Chaos Monkey devreye girebilir
-        String externalResponse = externalService.callExternalApi();
+        JsonBody externalResponse = externalService.callExternalApi();
 
         long duration = System.currentTimeMillis() - startTime;
         log.info("📦 Sipariş tamamlandı: {}ms", duration);
 
-        return String.format("""
-                {
-                    "orderId": "ORD-%d",
-                    "status": "COMPLETED",
-                    "protected": false,
-                    "processingTime": "%dms",
-                    "externalService": %s,
-                    "timestamp": "%s"
-                }
-                """,
-                System.currentTimeMillis() % 10000,
-                duration,
-                externalResponse.trim(),
-                LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        return buildOrderResponse(false, duration, externalResponse);
+    }
+
+    /**
+     * 🔵 KORUMASIZ sipariş işleme - async
+     *
+     * processOrder() ile aynı iş; sadece orderExecutor üzerinde çalışır,
+     * böylece çağıran request thread'i beklemez. Timeout/fallback yoktur;
+     * sadece isteğin deadline'ı uygulanır.
+     */
+    public CompletableFuture<JsonBody> processOrderAsync() {
+        return Deadline.bound(InterruptibleFutures.supplyAsync(
+                stageMetrics.onExecutor(Deadline.propagate(this::processOrder)), orderExecutor), latencyTimer);
     }
 
     /**
@@ -65,76 +324,362 @@ public class OrderService {
      * 
      * @CircuitBreaker: Hata oranı %50'yi geçerse devre açılır
      * @TimeLimiter: 2 saniye timeout (CompletableFuture gerektirir)
+     *
+     * İş, ayrılmış orderExecutor üzerinde çalışır; timeout olduğunda
+     * çalışan thread interrupt edilir ve kapasite geri kazanılır.
+     * demo.external.non-blocking=true ise external çağrı timer ile
+     * tamamlanır ve bekleme süresince hiçbir thread tutulmaz.
+     *
+     * İsteğin kalan bütçesi 2 saniyeden azsa sipariş bütçe bitince
+     * DeadlineExceededException ile tamamlanır (fallback'e düşmez).
      */
     @CircuitBreaker(name = "externalService", fallbackMethod = "processOrderFallback")
     @TimeLimiter(name = "externalService", fallbackMethod = "processOrderTimeoutFallback")
-    public CompletableFuture<String> processOrderProtected() {
-        return CompletableFuture.supplyAsync(() -> {
+    public CompletableFuture<JsonBody> processOrderProtected() {
+        CompletableFuture<JsonBody> order;
+        if (hedger != null || retrier != null) {
+            order = processOrderProtectedDecorated();
+        } else if (externalProperties.isNonBlocking()) {
+            order = processOrderProtectedNonBlocking();
+        } else {
+            order = processOrderProtectedBlocking();
+        }
+        return Deadline.bound(order, latencyTimer);
+    }
+
+    private CompletableFuture<JsonBody> processOrderProtectedBlocking() {
+        return InterruptibleFutures.supplyAsync(stageMetrics.onExecutor(Deadline.propagate(() -> {
             log.info("🛡️ Sipariş işleniyor (KORUMALI)...");
             long startTime = System.currentTimeMillis();
 
             // External servisi çağır
-            String externalResponse = externalService.callExternalApi();
+            JsonBody externalResponse = externalService.callExternalApi();
 
             long duration = System.currentTimeMillis() - startTime;
             log.info("🛡️ Sipariş tamamlandı: {}ms", duration);
 
-            return String.format("""
-                    {
-                        "orderId": "ORD-%d",
-                        "status": "COMPLETED",
-                        "protected": true,
-                        "processingTime": "%dms",
-                        "externalService": %s,
-                        "timestamp": "%s"
-                    }
-                    """,
-                    System.currentTimeMillis() % 10000,
-                    duration,
-                    externalResponse.trim(),
-                    LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            return buildOrderResponse(true, duration, externalResponse);
+        })), orderExecutor);
+    }
+
+    private CompletableFuture<JsonBody> processOrderProtectedNonBlocking() {
+        log.info("🛡️ Sipariş işleniyor (KORUMALI, non-blocking)...");
+        long startTime = System.currentTimeMillis();
+
+        CompletableFuture<JsonBody> external = externalService.callExternalApiAsync();
+        CompletableFuture<JsonBody> order = external.thenApply(externalResponse -> {
+            long duration = System.currentTimeMillis() - startTime;
+            log.info("🛡️ Sipariş tamamlandı: {}ms", duration);
+            return buildOrderResponse(true, duration, externalResponse);
         });
+
+        // Timeout olursa zamanlanmış external cevap da aynı hatayla bırakılır
+        order.whenComplete((result, error) -> {
+            if (error != null) {
+                InterruptibleFutures.abort(external, error);
+            }
+        });
+        return order;
     }
 
     /**
-     * 🔶 FALLBACK - Circuit Breaker açıldığında
+     * External çağrı bir "deneme" olarak sarılır:
+     * - hedge: ilk deneme hedge gecikmesi içinde dönmezse ikinci deneme
+     *   başlar; ilk cevap kazanır, diğeri iptal edilir (cache açıkken
+     *   hedge kapalıdır)
+     * - retry: geçici hata sonrası (hedge'li) çağrı timer üzerinde
+     *   bekleyip tekrarlanır
+     * Bloklayan modda her deneme kendi orderExecutor thread'inde çalışır.
+     * Timer thread'inden başlatılan denemeler de isteğin deadline'ını taşır.
      */
-    public CompletableFuture<String> processOrderFallback(Throwable t) {
-        log.warn("⚡ Circuit Breaker FALLBACK! Sebep: {}", t.getMessage());
-
-        return CompletableFuture.completedFuture(String.format("""
-                {
-                    "orderId": "ORD-FALLBACK-%d",
-                    "status": "DEGRADED",
-                    "protected": true,
-                    "fallbackReason": "Circuit Breaker Open",
-                    "message": "Sipariş kuyruğa alındı, daha sonra işlenecek",
-                    "originalError": "%s",
-                    "timestamp": "%s"
+    private CompletableFuture<JsonBody> processOrderProtectedDecorated() {
+        log.info("🛡️ Sipariş işleniyor (KORUMALI, hedge={}, retry={})...", hedger != null, retrier != null);
+        long startTime = System.currentTimeMillis();
+
+        Supplier<JsonBody> blockingCall = Deadline.propagate(externalService::callExternalApi);
+        Supplier<CompletableFuture<JsonBody>> attempt = externalProperties.isNonBlocking()
+                ? Deadline.propagate(externalService::callExternalApiAsync, Deadline.STAGE_EXTERNAL)
+                : () -> InterruptibleFutures.supplyAsync(stageMetrics.onExecutor(blockingCall), orderExecutor);
+
+        Supplier<CompletableFuture<JsonBody>> hedged = hedger != null ? () -> hedger.call(attempt) : attempt;
+        CompletableFuture<JsonBody> external = retrier != null ? retrier.call(hedged) : hedged.get();
+        CompletableFuture<JsonBody> order = external.thenApply(externalResponse -> {
+            long duration = System.currentTimeMillis() - startTime;
+            log.info("🛡️ Sipariş tamamlandı: {}ms", duration);
+            return buildOrderResponse(true, duration, externalResponse);
+        });
+
+        // Timeout olursa tüm denemeler aynı hatayla durdurulsun
+        order.whenComplete((result, error) -> {
+            if (error != null) {
+                InterruptibleFutures.abort(external, error);
+            }
+        });
+        return order;
+    }
+
+    /**
+     * 🟠 ORKESTRE sipariş işleme - scatter-gather
+     *
+     * Tüm downstream'ler (payment, inventory, fraud, shipping...) paralel
+     * çağrılır; her birinin kendi circuit breaker'ı ve timeout'u vardır.
+     * Zorunlu downstream'lerin hepsi cevap verince sipariş tamamlanır:
+     * süre toplam değil, en yavaş zorunlu downstream kadardır. O anda
+     * bitmemiş veya başarısız opsiyonel downstream'ler tek tek DEGRADED
+     * işaretlenir. Zorunlu biri başarısız olursa diğerleri beklenmez.
+     */
+    public CompletableFuture<JsonBody> processOrderOrchestrated() {
+        log.info("🟠 Sipariş işleniyor (ORKESTRE, {} downstream)...", downstreams.size());
+        long startTime = System.currentTimeMillis();
+
+        // Bütçe biterse gather iptal edilir, bekleyen dallar da iptal olur
+        return Deadline.bound(ScatterGather.gather(downstreams.branches()), latencyTimer).thenApply(outcomes -> {
+            long duration = System.currentTimeMillis() - startTime;
+            for (ScatterGather.Outcome<JsonBody> outcome : outcomes) {
+                if (outcome.required() && outcome.status() != ScatterGather.Status.SUCCESS) {
+                    if (outcome.error() instanceof DeadlineExceededException deadlineExceeded) {
+                        throw deadlineExceeded;
+                    }
+                    return stageMetrics.record(StageMetrics.Stage.FALLBACK,
+                            () -> requiredDownstreamFallback(outcome));
                 }
-                """,
+            }
+            log.info("🟠 Sipariş tamamlandı: {}ms", duration);
+            return buildOrchestratedResponse(duration, outcomes);
+        });
+    }
+
+    private JsonBody buildOrchestratedResponse(long duration, List<ScatterGather.Outcome<JsonBody>> outcomes) {
+        Object[] branches = new Object[outcomes.size()];
+        int degraded = 0;
+        for (int i = 0; i < outcomes.size(); i++) {
+            ScatterGather.Outcome<JsonBody> outcome = outcomes.get(i);
+            if (outcome.status() == ScatterGather.Status.SUCCESS) {
+                branches[i] = outcome.value().trimmed();
+            } else {
+                String reason = downstreamFailureReason(outcome);
+                log.warn("⚡ Opsiyonel downstream {} DEGRADED: {}", outcome.name(), reason);
+                branches[i] = DOWNSTREAM_DEGRADED.render(reason);
+                degraded++;
+            }
+        }
+
+        return ORCHESTRATED_RESPONSE.render(
                 System.currentTimeMillis() % 10000,
+                duration,
+                degraded,
+                downstreamsTemplate.render(branches),
+                CachedClock.isoLocalDateTime());
+    }
+
+    /**
+     * Zorunlu downstream olmadan sipariş tamamlanamaz; diğer fallback'ler
+     * gibi outbox'a yazılır ve DEGRADED döner.
+     */
+    private JsonBody requiredDownstreamFallback(ScatterGather.Outcome<JsonBody> outcome) {
+        String reasonText = outcome.name() + ": " + downstreamFailureReason(outcome);
+        log.warn("⚡ Zorunlu downstream FALLBACK! Sebep: {}", reasonText);
+
+        String orderId = "ORD-FALLBACK-" + System.currentTimeMillis() % 10000;
+        boolean queued = orderOutbox.enqueue(orderId, reasonText);
+
+        return new FallbackBody(DEGRADED_RESPONSE.render(
+                orderId,
+                reasonText,
+                queued,
+                queued ? MESSAGE_QUEUED : MESSAGE_NOT_QUEUED,
+                outcome.error() != null ? outcome.error().getMessage() : null,
+                CachedClock.isoLocalDateTime()),
+                outcome.error() != null ? fallbackOutcome(outcome.error()) : TrafficWindow.Outcome.FALLBACK);
+    }
+
+    private static String downstreamFailureReason(ScatterGather.Outcome<JsonBody> outcome) {
+        Throwable t = outcome.error();
+        return outcome.status() == ScatterGather.Status.NOT_READY ? "Not Ready"
+                : t instanceof CallNotPermittedException ? "Circuit Breaker Open"
+                : t instanceof TimeoutException ? "Timeout"
+                : t.getClass().getSimpleName();
+    }
+
+    /**
+     * 🟣 KORUMALI micro-batch işleme - Resilience4j ile
+     *
+     * Bir micro-batch tek external batch çağrısı yapar. Circuit breaker ve
+     * timeout batch başına uygulanır; başarısız batch'in her siparişi
+     * ayrı ayrı DEGRADED döner. Cevaplar NDJSON için tek satırlıktır.
+     */
+    @CircuitBreaker(name = "externalService", fallbackMethod = "processOrderBatchFallback")
+    @TimeLimiter(name = "externalService", fallbackMethod = "processOrderBatchFallback")
+    public CompletableFuture<List<JsonBody>> processOrderBatchProtected(List<String> orderIds) {
+        return InterruptibleFutures.supplyAsync(stageMetrics.onExecutor(() -> {
+            log.info("🛡️ Micro-batch işleniyor: {} sipariş", orderIds.size());
+            long startTime = System.currentTimeMillis();
+
+            List<JsonBody> externalResponses = externalService.callExternalApiBatch(orderIds);
+
+            long duration = System.currentTimeMillis() - startTime;
+            log.info("🛡️ Micro-batch tamamlandı: {} sipariş, {}ms", orderIds.size(), duration);
+
+            List<JsonBody> results = new ArrayList<>(orderIds.size());
+            for (int i = 0; i < orderIds.size(); i++) {
+                results.add(BATCH_ORDER_RESPONSE.render(
+                        orderIds.get(i), orderIds.size(), duration, externalResponses.get(i)));
+            }
+            return results;
+        }), orderExecutor);
+    }
+
+    private JsonBody buildOrderResponse(boolean protectedOrder, long duration, JsonBody externalResponse) {
+        return ORDER_RESPONSE.render(
+                System.currentTimeMillis() % 10000,
+                protectedOrder,
+                duration,
+                externalResponse.trimmed(),
+                CachedClock.isoLocalDateTime());
+    }
+
+    /**
+     * Cache'te son başarılı external cevap varsa statik DEGRADED yerine
+     * onu da taşıyan cevap üretir. Sipariş yine işlenmemiştir: status
+     * DEGRADED kalır ve sipariş çağıran tarafından outbox'a yazılmıştır.
+     */
+    private Optional<JsonBody> lastKnownOrderResponse(String orderId, byte[] fallbackReason, boolean queued) {
+        return externalService.lastKnownResponse().map(externalResponse -> STALE_RESPONSE.render(
+                orderId,
+                fallbackReason,
+                queued,
+                queued ? MESSAGE_QUEUED : MESSAGE_NOT_QUEUED,
+                externalResponse.trimmed(),
+                CachedClock.isoLocalDateTime()));
+    }
+
+    /**
+     * 🔶 FALLBACK - Circuit Breaker açıldığında
+     *
+     * Sipariş OrderOutbox'a yazılır; devre kapanınca yeniden oynatılır.
+     */
+    public CompletableFuture<JsonBody> processOrderFallback(Throwable t) {
+        if (isDeadlineExceeded(t)) {
+            return CompletableFuture.failedFuture(unwrap(t));
+        }
+        return stageMetrics.record(StageMetrics.Stage.FALLBACK, () -> isLimitRejection(t)
+                ? degradedFallback(REASON_CONCURRENCY_LIMIT, "Concurrency Limit", t)
+                : degradedFallback(REASON_CIRCUIT_OPEN, "Circuit Breaker Open", t));
+    }
+
+    /**
+     * Adaptif limit dolu: external çağrı hiç yapılmadı. Circuit breaker
+     * bu exception'ı saymaz (application.yml → ignoreExceptions).
+     */
+    private static boolean isLimitRejection(Throwable t) {
+        return unwrap(t) instanceof ConcurrencyLimitExceededException;
+    }
+
+    /**
+     * İstemci artık beklemiyor: fallback cevabı üretilmez, outbox'a
+     * yazılmaz; hata olduğu gibi controller'a gider (504).
+     */
+    private static boolean isDeadlineExceeded(Throwable t) {
+        return unwrap(t) instanceof DeadlineExceededException;
+    }
+
+    private static Throwable unwrap(Throwable t) {
+        return t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+    }
+
+    /** Trafik istatistiği için fallback sebebi (bkz. FallbackBody) */
+    private static TrafficWindow.Outcome fallbackOutcome(Throwable t) {
+        Throwable cause = unwrap(t);
+        return cause instanceof CallNotPermittedException ? TrafficWindow.Outcome.REJECTED
+                : cause instanceof TimeoutException ? TrafficWindow.Outcome.TIMEOUT
+                : TrafficWindow.Outcome.FALLBACK;
+    }
+
+    private CompletableFuture<JsonBody> degradedFallback(byte[] reason, String reasonText, Throwable t) {
+        log.warn("⚡ {} FALLBACK! Sebep: {}", reasonText, t.getMessage());
+        TrafficWindow.Outcome outcome = fallbackOutcome(t);
+
+        String orderId = "ORD-FALLBACK-" + System.currentTimeMillis() % 10000;
+        boolean queued = orderOutbox.enqueue(orderId, reasonText);
+
+        Optional<JsonBody> stale = lastKnownOrderResponse(orderId, reason, queued);
+        if (stale.isPresent()) {
+            return CompletableFuture.completedFuture(new FallbackBody(stale.get(), outcome));
+        }
+
+        return CompletableFuture.completedFuture(new FallbackBody(DEGRADED_RESPONSE.render(
+                orderId,
+                reason,
+                queued,
+                queued ? MESSAGE_QUEUED : MESSAGE_NOT_QUEUED,
                 t.getMessage(),
-                LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)));
+                CachedClock.isoLocalDateTime()), outcome));
+    }
+
+    /**
+     * 🔶 FALLBACK - Micro-batch başarısız olduğunda (circuit breaker veya timeout)
+     *
+     * Batch'teki her sipariş outbox'a yazılır ve DEGRADED döner.
+     */
+    public CompletableFuture<List<JsonBody>> processOrderBatchFallback(List<String> orderIds, Throwable t) {
+        return stageMetrics.record(StageMetrics.Stage.FALLBACK, () -> batchFallback(orderIds, t));
+    }
+
+    private CompletableFuture<List<JsonBody>> batchFallback(List<String> orderIds, Throwable t) {
+        String reason = t instanceof CallNotPermittedException ? "Circuit Breaker Open"
+                : t instanceof TimeoutException ? "Timeout (>2s)"
+                : isLimitRejection(t) ? "Concurrency Limit"
+                : t.getClass().getSimpleName();
+        log.warn("⚡ Micro-batch FALLBACK! {} sipariş, sebep: {}", orderIds.size(), reason);
+
+        byte[] reasonBytes = reason.getBytes(StandardCharsets.UTF_8);
+        byte[] timestamp = CachedClock.isoLocalDateTime();
+        List<JsonBody> results = new ArrayList<>(orderIds.size());
+        for (String orderId : orderIds) {
+            boolean queued = orderOutbox.enqueue(orderId, reason);
+            results.add(BATCH_DEGRADED_RESPONSE.render(orderId, reasonBytes, queued, timestamp));
+        }
+        return CompletableFuture.completedFuture(results);
     }
 
     /**
      * 🔶 FALLBACK - Timeout durumunda
+     *
+     * TimeLimiter fallback'i içteki tüm hataları yakalar; limit reddi
+     * timeout değildir, kendi sebebiyle döner. Deadline aşımı aynen iletilir.
+     * Sipariş circuit breaker fallback'i gibi outbox'a yazılır (stale cevap olsa da).
      */
-    public CompletableFuture<String> processOrderTimeoutFallback(Throwable t) {
+    public CompletableFuture<JsonBody> processOrderTimeoutFallback(Throwable t) {
+        if (isDeadlineExceeded(t)) {
+            return CompletableFuture.failedFuture(unwrap(t));
+        }
+        return stageMetrics.record(StageMetrics.Stage.FALLBACK, () -> isLimitRejection(t)
+                ? degradedFallback(REASON_CONCURRENCY_LIMIT, "Concurrency Limit", t)
+                : timeoutFallback(t));
+    }
+
+    private CompletableFuture<JsonBody> timeoutFallback(Throwable t) {
         log.warn("⏱️ TIMEOUT FALLBACK! Sebep: {}", t.getMessage());
+        TrafficWindow.Outcome outcome = fallbackOutcome(t);
 
-        return CompletableFuture.completedFuture(String.format("""
-                {
-                    "orderId": "ORD-TIMEOUT-%d",
-                    "status": "DEGRADED",
-                    "protected": true,
-                    "fallbackReason": "Timeout (>2s)",
-                    "message": "Servis yavaş, fallback response döndürülüyor",
-                    "timestamp": "%s"
-                }
-                """,
-                System.currentTimeMillis() % 10000,
-                LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)));
+        long orderNumber = System.currentTimeMillis() % 10000;
+        String orderId = "ORD-TIMEOUT-" + orderNumber;
+        boolean queued = orderOutbox.enqueue(orderId, timeoutReason(t));
+
+        Optional<JsonBody> stale = lastKnownOrderResponse(orderId, REASON_TIMEOUT, queued);
+        if (stale.isPresent()) {
+            return CompletableFuture.completedFuture(new FallbackBody(stale.get(), outcome));
+        }
+
+        return CompletableFuture.completedFuture(new FallbackBody(TIMEOUT_RESPONSE.render(
+                orderNumber,
+                queued,
+                CachedClock.isoLocalDateTime()), outcome));
+    }
+
+    /** TimeLimiter fallback'i içteki hataları da getirir; outbox'a gerçek sebep yazılır */
+    private static String timeoutReason(Throwable t) {
+        Throwable cause = unwrap(t);
+        return cause instanceof TimeoutException ? "Timeout (>2s)" : cause.getClass().getSimpleName();
     }
 }
@@ -0,0 +1,180 @@
+package com.demo.chaos.outbox;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MappedOutboxLog crash recovery: açılışta segment taraması yarım ve
+ * bozuk kayıtları atmalı, END_OF_SEGMENT'ten sonra doğru segmente
+ * devam etmeli.
+ */
+class MappedOutboxLogTest {
+
+    /** 20 byte payload + 8 byte başlık: 64 byte'lık segmente iki kayıt sığar */
+    private static final int SEGMENT_SIZE = 64;
+    private static final int RECORD_SIZE = 28;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopenKeepsRecordsAndAppendsAfterThem() throws IOException {
+        try (MappedOutboxLog outboxLog = open()) {
+            outboxLog.append(payload(1));
+            outboxLog.append(payload(2));
+        }
+
+        try (MappedOutboxLog outboxLog = open()) {
+            MappedOutboxLog.Position third = outboxLog.append(payload(3));
+
+            assertThat(third).isEqualTo(new MappedOutboxLog.Position(1, 0));
+            assertThat(payloads(outboxLog, outboxLog.start())).containsExactly(text(1), text(2), text(3));
+        }
+    }
+
+    @Test
+    void tornTailIsDiscarded() throws IOException {
+        try (MappedOutboxLog outboxLog = open()) {
+            outboxLog.append(payload(1));
+        }
+        // Çökme: length yazılmış, CRC ve payload diske ulaşmamış
+        writeInt(0, RECORD_SIZE, 20);
+
+        try (MappedOutboxLog outboxLog = open()) {
+            assertThat(payloads(outboxLog, outboxLog.start())).containsExactly(text(1));
+
+            MappedOutboxLog.Position next = outboxLog.append(payload(2));
+            assertThat(next).isEqualTo(new MappedOutboxLog.Position(0, RECORD_SIZE));
+            assertThat(payloads(outboxLog, outboxLog.start())).containsExactly(text(1), text(2));
+        }
+    }
+
+    @Test
+    void crcMismatchDiscardsRecordAndEverythingAfterIt() throws IOException {
+        try (MappedOutboxLog outboxLog = open()) {
+            outboxLog.append(payload(1));
+            outboxLog.append(payload(2));
+        }
+        // İkinci kaydın payload'ında tek byte bozulur
+        writeByte(0, RECORD_SIZE + 8, (byte) 'X');
+
+        try (MappedOutboxLog outboxLog = open()) {
+            assertThat(payloads(outboxLog, outboxLog.start())).containsExactly(text(1));
+            assertThat(outboxLog.append(payload(3))).isEqualTo(new MappedOutboxLog.Position(0, RECORD_SIZE));
+        }
+    }
+
+    @Test
+    void fullSegmentIsSealedAndReadContinuesInNext() throws IOException {
+        try (MappedOutboxLog outboxLog = open()) {
+            assertThat(outboxLog.append(payload(1)).segment()).isZero();
+            assertThat(outboxLog.append(payload(2)).segment()).isZero();
+            assertThat(outboxLog.append(payload(3))).isEqualTo(new MappedOutboxLog.Position(1, 0));
+
+            List<MappedOutboxLog.Entry> entries = outboxLog.read(outboxLog.start(), 10);
+            assertThat(entries).extracting(MappedOutboxLog.Entry::next).containsExactly(
+                    new MappedOutboxLog.Position(0, RECORD_SIZE),
+                    new MappedOutboxLog.Position(0, 2 * RECORD_SIZE),
+                    new MappedOutboxLog.Position(1, RECORD_SIZE));
+        }
+        assertThat(readInt(0, 2 * RECORD_SIZE)).isEqualTo(-1);
+
+        try (MappedOutboxLog outboxLog = open()) {
+            assertThat(payloads(outboxLog, outboxLog.start())).containsExactly(text(1), text(2), text(3));
+            assertThat(outboxLog.append(payload(4))).isEqualTo(new MappedOutboxLog.Position(1, RECORD_SIZE));
+        }
+    }
+
+    @Test
+    void sealedSegmentWithoutSuccessorOpensNewHead() throws IOException {
+        try (MappedOutboxLog outboxLog = open()) {
+            outboxLog.append(payload(1));
+            outboxLog.append(payload(2));
+        }
+        // END_OF_SEGMENT yazıldı, yeni segment oluşturulamadan çökme
+        writeInt(0, 2 * RECORD_SIZE, -1);
+        assertThat(segmentPath(1)).doesNotExist();
+
+        try (MappedOutboxLog outboxLog = open()) {
+            assertThat(outboxLog.append(payload(3))).isEqualTo(new MappedOutboxLog.Position(1, 0));
+            assertThat(payloads(outboxLog, outboxLog.start())).containsExactly(text(1), text(2), text(3));
+        }
+    }
+
+    @Test
+    void checkpointResumesReplayAfterReopen() throws IOException {
+        OutboxCheckpoint checkpoint = new OutboxCheckpoint(directory.resolve("checkpoint"));
+        assertThat(checkpoint.load()).isEmpty();
+
+        try (MappedOutboxLog outboxLog = open()) {
+            for (int i = 1; i <= 3; i++) {
+                outboxLog.append(payload(i));
+            }
+            // İlk iki kayıt oynatıldı
+            List<MappedOutboxLog.Entry> replayed = outboxLog.read(outboxLog.start(), 2);
+            checkpoint.store(replayed.get(1).next());
+        }
+
+        OutboxCheckpoint reloaded = new OutboxCheckpoint(directory.resolve("checkpoint"));
+        MappedOutboxLog.Position position = reloaded.load().orElseThrow();
+        assertThat(position).isEqualTo(new MappedOutboxLog.Position(0, 2 * RECORD_SIZE));
+        assertThat(directory.resolve("checkpoint.tmp")).doesNotExist();
+
+        try (MappedOutboxLog outboxLog = open()) {
+            assertThat(outboxLog.contains(position)).isTrue();
+            assertThat(payloads(outboxLog, position)).containsExactly(text(3));
+            assertThat(outboxLog.count(position)).isEqualTo(1);
+        }
+    }
+
+    private MappedOutboxLog open() throws IOException {
+        return MappedOutboxLog.open(directory, SEGMENT_SIZE);
+    }
+
+    private static String text(int i) {
+        return String.format("order-%014d", i);
+    }
+
+    private static byte[] payload(int i) {
+        return text(i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> payloads(MappedOutboxLog outboxLog, MappedOutboxLog.Position from) {
+        return outboxLog.read(from, 100).stream()
+                .map(entry -> new String(entry.payload(), StandardCharsets.UTF_8))
+                .toList();
+    }
+
+    private Path segmentPath(long id) {
+        return directory.resolve(String.format("%020d.log", id));
+    }
+
+    private void writeInt(long segment, int offset, int value) throws IOException {
+        write(segment, offset, ByteBuffer.allocate(Integer.BYTES).putInt(0, value));
+    }
+
+    private void writeByte(long segment, int offset, byte value) throws IOException {
+        write(segment, offset, ByteBuffer.wrap(new byte[] {value}));
+    }
+
+    private void write(long segment, int offset, ByteBuffer bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(segment), StandardOpenOption.WRITE)) {
+            channel.write(bytes, offset);
+        }
+    }
+
+    private int readInt(long segment, int offset) throws IOException {
+        return ByteBuffer.wrap(Files.readAllBytes(segmentPath(segment))).getInt(offset);
+    }
+}
@@ -0,0 +1,83 @@
+package com.demo.chaos.outbox;
+
+import com.demo.chaos.config.OutboxProperties;
+import com.demo.chaos.external.FakeExternalService;
+import com.demo.chaos.json.JsonBody;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Replayer kuyruktaki siparişleri orderId'leriyle batch API'ye teslim
+ * etmeli; checkpoint sadece cevap alınan siparişlere kadar ilerlemeli.
+ */
+class OrderOutboxTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replayDeliversQueuedOrderIdsInOneBatch() throws Exception {
+        FakeExternalService external = mock(FakeExternalService.class);
+        when(external.callExternalApiBatch(anyList())).thenAnswer(call -> call.getArgument(0));
+
+        try (OrderOutbox outbox = outbox(external)) {
+            assertThat(outbox.enqueue("ORD-1", "Circuit Breaker Open")).isTrue();
+            assertThat(outbox.enqueue("ORD-2", "Timeout (>2s)")).isTrue();
+
+            verify(external, timeout(5_000)).callExternalApiBatch(List.of("ORD-1", "ORD-2"));
+            awaitBacklog(outbox, 0);
+        }
+    }
+
+    @Test
+    void partialAnswerAdvancesCheckpointOnlyForAnsweredOrders() throws Exception {
+        FakeExternalService external = mock(FakeExternalService.class);
+        // Sadece ilk sipariş cevaplanır, sonra servis hata verir
+        when(external.callExternalApiBatch(anyList()))
+                .thenReturn(List.of(JsonBody.of("{}".getBytes(StandardCharsets.UTF_8))))
+                .thenThrow(new RuntimeException("down"));
+
+        try (OrderOutbox outbox = outbox(external)) {
+            outbox.enqueue("ORD-1", "Circuit Breaker Open");
+            outbox.enqueue("ORD-2", "Circuit Breaker Open");
+            awaitBacklog(outbox, 1);
+        }
+
+        FakeExternalService recovered = mock(FakeExternalService.class);
+        when(recovered.callExternalApiBatch(anyList())).thenAnswer(call -> call.getArgument(0));
+        try (OrderOutbox outbox = outbox(recovered)) {
+            verify(recovered, timeout(5_000)).callExternalApiBatch(List.of("ORD-2"));
+            awaitBacklog(outbox, 0);
+        }
+    }
+
+    private OrderOutbox outbox(FakeExternalService external) throws Exception {
+        OutboxProperties properties = new OutboxProperties();
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSize(4096);
+        properties.setReplayIntervalMs(20);
+        return new OrderOutbox(properties, external, CircuitBreakerRegistry.ofDefaults(), new SimpleMeterRegistry());
+    }
+
+    private static void awaitBacklog(OrderOutbox outbox, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (outbox.getBacklog() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(outbox.getBacklog()).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,199 @@
+#!/bin/bash
+# Açılış süresi karşılaştırması: düz jar / varsayılan build vs Spring AOT + AppCDS
+#
+# Kaos tatbikatında öldürülen instance ne kadar hızlı dönerse korumalı
+# filo o kadar kısa süre degraded çalışır. Her mod için JVM başlatılır
+# ve iki an ölçülür (JVM başlangıcından itibaren):
+#   health: /api/health UP
+#   order:  ilk başarılı (200) /api/order
+#
+# Modlar:
+#   plain    düz jar + target/lib, CDS ve AOT yok - diğerlerinin taban çizgisi
+#   default  *-exec.jar (iç içe jar'lar, AOT kapalı) - bugünkü dağıtım
+#   cds      düz jar + target/lib, AppCDS arşiviyle
+#   aot      düz jar, -Dspring.aot.enabled=true
+#   aot+cds  ikisi birden
+#
+# CDS arşivi her mod için ayrı bir eğitim çalıştırmasıyla üretilir:
+# uygulama açılır, birkaç istek alır ve düzgün kapanır (arşiv JVM
+# çıkışında yazılır). Her modda bir kez, ölçüm dışında, Resilience4j
+# proxy'sinin ve Chaos Monkey watcher'ının hâlâ çalıştığı doğrulanır.
+#
+# Kullanım: ./startup-benchmark.sh [çalıştırma_sayısı]
+#   ./startup-benchmark.sh 10
+#   SKIP_BUILD=1 ./startup-benchmark.sh     # mevcut target/ ile
+#   PORT=9090 ./startup-benchmark.sh
+
+set -e
+cd "$(dirname "$0")"
+
+RUNS="${1:-5}"
+PORT="${PORT:-8080}"
+BASE_URL="http://localhost:$PORT"
+WORK=target/startup
+TIMEOUT_SEC=120
+
+if [ -z "$SKIP_BUILD" ]; then
+    echo "📦 fast-startup profiliyle derleniyor (AOT + target/lib)..."
+    mvn -q -Pfast-startup -DskipTests package
+fi
+
+EXEC_JAR=$(ls target/chaos-resilience-demo-*-exec.jar)
+PLAIN_JAR=$(ls target/chaos-resilience-demo-*.jar | grep -v -- '-exec.jar$')
+if [ ! -d target/lib ] || [ ! -d target/spring-aot ]; then
+    echo "❌ target/lib veya AOT çıktısı yok; -Pfast-startup ile derleyin" >&2
+    exit 1
+fi
+
+rm -rf "$WORK"
+mkdir -p "$WORK"
+
+if curl -s -o /dev/null "$BASE_URL/api/health"; then
+    echo "❌ $BASE_URL zaten cevap veriyor; önce çalışan uygulamayı durdurun" >&2
+    exit 1
+fi
+
+now_ms() {
+    echo $(($(date +%s%N) / 1000000))
+}
+
+# $1: log dosyası, kalan argümanlar: java argümanları
+start_app() {
+    local log="$1"
+    shift
+    java "$@" --server.port="$PORT" > "$log" 2>&1 &
+    APP_PID=$!
+}
+
+stop_app() {
+    [ -n "$APP_PID" ] || return 0
+    kill "$APP_PID" 2> /dev/null || true
+    wait "$APP_PID" 2> /dev/null || true
+    APP_PID=
+}
+
+# Hata ile çıkılırsa ölçülen uygulama açık kalmasın
+APP_PID=
+trap stop_app EXIT
+
+# $1: yol, $2: başarı koşulu (health → UP, order → HTTP 200)
+wait_for() {
+    local path="$1" kind="$2" deadline=$(($(now_ms) + TIMEOUT_SEC * 1000))
+    while :; do
+        if [ "$kind" = health ]; then
+            curl -s "$BASE_URL$path" 2> /dev/null | grep -q '"UP"' && return 0
+        else
+            [ "$(curl -s -o /dev/null -w '%{http_code}' "$BASE_URL$path")" = 200 ] && return 0
+        fi
+        if ! kill -0 "$APP_PID" 2> /dev/null; then
+            echo "❌ Uygulama açılamadı" >&2
+            return 1
+        fi
+        if [ "$(now_ms)" -gt "$deadline" ]; then
+            echo "❌ ${TIMEOUT_SEC}s içinde $path cevap vermedi" >&2
+            return 1
+        fi
+        sleep 0.01
+    done
+}
+
+# Eğitim: açılış + tipik istekler, sonra SIGTERM ile düzgün kapanış
+# $1: arşiv, kalan argümanlar: java argümanları
+train() {
+    local archive="$1"
+    shift
+    start_app "$WORK/train-$(basename "$archive" .jsa).log" -XX:ArchiveClassesAtExit="$archive" "$@"
+    wait_for /api/health health
+    for path in /api/order /api/order/async /api/order/protected /api/order/orchestrated /api/demo/status; do
+        curl -s -o /dev/null "$BASE_URL$path"
+    done
+    stop_app
+    if [ ! -s "$archive" ]; then
+        echo "❌ CDS arşivi oluşmadı: $archive" >&2
+        exit 1
+    fi
+}
+
+# AOT'un proxy'leri ve watcher'ları düşürmediğini doğrular (ölçüm dışı)
+verify() {
+    local calls started elapsed
+    curl -s -o /dev/null "$BASE_URL/api/order/protected"
+    calls=$(curl -s "$BASE_URL/actuator/metrics/resilience4j.circuitbreaker.calls?tag=name:externalService" \
+        | sed -n 's/.*"statistic":"COUNT","value":\([0-9.]*\).*/\1/p')
+    if [ "${calls%.*}" -gt 0 ] 2> /dev/null; then
+        echo "   ✅ Resilience4j circuit breaker proxy'si çağrıyı gördü"
+    else
+        echo "   ❌ Resilience4j çağrı saymadı: @CircuitBreaker proxy'si yok mu?"
+        VERIFY_FAILED=1
+    fi
+
+    # Senaryo 2: Chaos Monkey service watcher'ı external çağrıya 3-5sn ekler
+    curl -s -o /dev/null "$BASE_URL/api/demo/scenario/2"
+    started=$(now_ms)
+    curl -s -o /dev/null "$BASE_URL/api/order"
+    elapsed=$(($(now_ms) - started))
+    curl -s -o /dev/null "$BASE_URL/api/demo/scenario/1"
+    if [ "$elapsed" -ge 2500 ]; then
+        echo "   ✅ Chaos Monkey watcher'ı gecikme uyguladı (${elapsed}ms)"
+    else
+        echo "   ❌ Chaos Monkey gecikmesi yok (${elapsed}ms): watcher bağlanmamış"
+        VERIFY_FAILED=1
+    fi
+}
+
+# $1: mod adı, kalan argümanlar: java argümanları
+bench() {
+    local mode="$1" run started health order
+    shift
+    local results="$WORK/$mode.txt"
+    echo "⏱️ $mode ($RUNS çalıştırma)"
+    for run in $(seq "$RUNS"); do
+        started=$(now_ms)
+        start_app "$WORK/$mode-$run.log" "$@"
+        wait_for /api/health health
+        health=$(($(now_ms) - started))
+        wait_for /api/order order
+        order=$(($(now_ms) - started))
+        echo "$health $order" >> "$results"
+        if [ "$run" = 1 ]; then
+            verify
+        fi
+        stop_app
+    done
+}
+
+# stdin'deki sayıların medyanı ve en küçüğü
+stats() {
+    sort -n | awk '{ v[NR] = $1 } END { printf "medyan %6dms  en iyi %6dms", v[int((NR + 1) / 2)], v[1] }'
+}
+
+report() {
+    local mode="$1" results="$WORK/$1.txt"
+    printf "%-10s health: %s   ilk /api/order: %s\n" "$mode" \
+        "$(cut -d' ' -f1 "$results" | stats)" "$(cut -d' ' -f2 "$results" | stats)"
+}
+
+AOT="-Dspring.aot.enabled=true"
+
+echo "🎓 CDS eğitim çalıştırmaları..."
+train "$WORK/app-cds.jsa" -jar "$PLAIN_JAR"
+train "$WORK/app-aot-cds.jsa" $AOT -jar "$PLAIN_JAR"
+
+VERIFY_FAILED=
+bench plain -jar "$PLAIN_JAR"
+bench default -jar "$EXEC_JAR"
+bench cds -XX:SharedArchiveFile="$WORK/app-cds.jsa" -jar "$PLAIN_JAR"
+bench aot $AOT -jar "$PLAIN_JAR"
+bench aot+cds -XX:SharedArchiveFile="$WORK/app-aot-cds.jsa" $AOT -jar "$PLAIN_JAR"
+
+echo
+echo "📊 JVM başlangıcından itibaren ($RUNS çalıştırma, java $(java -version 2>&1 | head -1 | cut -d'"' -f2))"
+for mode in plain default cds aot aot+cds; do
+    report "$mode"
+done
+echo "   Ham sonuçlar ve loglar: $WORK/"
+
+if [ -n "$VERIFY_FAILED" ]; then
+    echo "❌ En az bir modda doğrulama başarısız" >&2
+    exit 1
+fi